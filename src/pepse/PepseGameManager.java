@@ -18,7 +18,6 @@ import danogl.util.Vector2;
 
 import java.awt.*;
 import java.util.HashMap;
-import java.util.HashSet;
 
 import static pepse.world.Block.findClosest;
 
@@ -61,8 +60,6 @@ public class PepseGameManager extends GameManager {
     private static final String HALO = "Halo";
     private static final String MOON = "Moon";
     private static final String AVATAR = "Avatar";
-    private static final String LEFT = "left";
-    private static final String RIGHT = "right";
     private static final String LEAF = "Leaf";
     private static final String TRUNK = "Trunk";
 
@@ -77,10 +74,23 @@ public class PepseGameManager extends GameManager {
     private static final String FONT_NAME = "Consolas";
     private static final Vector2 METER_TOP_LEFT_CORNER = new Vector2(10, 20);
     private static final Vector2 METER_DIMENSIONS = new Vector2(100, 30);
-    private static final float LOAD_FACTOR = 0.7f;
+    private static final float LOAD_MARGIN_FACTOR = 0.2f;
     private static final int SAFE_ZONE = Block.SIZE * 5;
+    private static final int LOAD_RADIUS_OFFSET = 1;
+    private static final int UNLOAD_RADIUS_OFFSET = 1;
+    private static final int CHUNK_LOADS_PER_FRAME = 1;
+    private static final int GENERATION_THREADS = 2;
+    private static final float PREFETCH_SECONDS = 1.5f;
+    private static final int MAX_PREFETCH_CHUNKS = 4;
+    private static final int CLEANUP_REMOVALS_PER_FRAME = 96;
+    private static final long CLEANUP_NANOS_PER_FRAME = 1_000_000;
+    private static final float TIMER_TICK = 1 / 60f;
+    private static final int TIMER_SLOTS = 512;
+    private static final float LOD_MARGIN = 120;
+    private static final float LOD_MAX_DISTANCE = 2000;
+    private static final float MAX_ENTITY_WIDTH = 60;
+    private static final float WAKE_DISTANCE = Block.SIZE * 3;
     private static final Color HALO_COLOR = new Color(255, 255, 0, 20);
-    public static final int BLOCK_SIZE_OFFSET = 3;
     public static final Vector2 WINDOW_DIMENSIONS = new Vector2(1300, 700);
 
     //Game objects
@@ -89,16 +99,21 @@ public class PepseGameManager extends GameManager {
     private Tree tree;
     private StaticObject cloud;
     private WindowController windowController;
+    private ChunkStreamer chunkStreamer;
+    private HeightmapCollider collider;
+    private WorldMutationQueue mutationQueue;
+    private CleanupScheduler cleanup;
+    private TimerWheel timerWheel;
+    private LevelOfDetail levelOfDetail;
+    private ViewportSnapshot viewport;
+    private EntityGrid entityGrid;
+    private BirdSpawner[] birdSpawners;
 
     //Data structures
     private HashMap<String, Integer> layerMap;
-    public static final HashSet<Integer> createdXValSet = new HashSet<>();
 
     //Tools and inner fields
     private ImageReader imageReader;
-    private int lastScreenStart;
-    private int lastScreenEnd;
-    private int screenSize;
 
     /**
      * Main method
@@ -133,38 +148,52 @@ public class PepseGameManager extends GameManager {
         this.windowController = windowController;
         this.layerMap = createLayerMap();
 
-        GameObjectFactory factory = new GameObjectFactory(gameObjects(), windowController, layerMap,
-                inputListener, imageReader, CYCLE_LENGTH, RANDOM_SEED);
+        this.mutationQueue = new WorldMutationQueue(gameObjects());
+        this.cleanup = new CleanupScheduler(mutationQueue, CLEANUP_REMOVALS_PER_FRAME,
+                CLEANUP_NANOS_PER_FRAME);
+        this.timerWheel = new TimerWheel(TIMER_TICK, TIMER_SLOTS);
+        this.levelOfDetail = new LevelOfDetail(LOD_MARGIN, LOD_MAX_DISTANCE);
+        float loadMargin = windowController.getWindowDimensions().x() * LOAD_MARGIN_FACTOR;
+        this.viewport = new ViewportSnapshot(loadMargin, loadMargin + SAFE_ZONE);
+        this.entityGrid = new EntityGrid(MAX_ENTITY_WIDTH);
+        GameObjectFactory factory = new GameObjectFactory(gameObjects(), mutationQueue, cleanup,
+                timerWheel, levelOfDetail, entityGrid, windowController, layerMap, inputListener,
+                imageReader, CYCLE_LENGTH, RANDOM_SEED);
         createSingleObjects(factory);
 
-        float avatarX = findClosest(BIGGER, (int) avatar.getCenter().x());
         float windowX = windowController.getWindowDimensions().x();
-        this.screenSize = findClosest(BIGGER, (int) windowX) + 2 * SAFE_ZONE;
-        this.lastScreenStart = (int) (avatarX - screenSize / 2);
-        this.lastScreenEnd = (int) (avatarX + screenSize / 2);
+        int screenSize = findClosest(BIGGER, (int) windowX) + 2 * SAFE_ZONE;
         this.terrain = (Terrain) factory.create(TERRAIN);
         this.tree = (Tree) factory.create(TREE);
 
         createStaticAndDynamicObjects(factory);
-        createObjectsInRange(lastScreenStart, lastScreenEnd);
-
-        defineCollisions();
-
+        int requiredRadius = (screenSize / 2) / WorldChunk.WIDTH + 1;
+        int loadRadius = requiredRadius + LOAD_RADIUS_OFFSET;
+        this.chunkStreamer = new ChunkStreamer(new Generatable<?>[]{terrain, tree, cloud},
+                new ChunkGenerator(GENERATION_THREADS), requiredRadius, loadRadius,
+                loadRadius + UNLOAD_RADIUS_OFFSET, CHUNK_LOADS_PER_FRAME, PREFETCH_SECONDS,
+                MAX_PREFETCH_CHUNKS);
         setCamera(new Camera(avatar, Vector2.ZERO, windowController.getWindowDimensions(),
                 windowController.getWindowDimensions()));
+        viewport.update(camera(), avatar);
+        chunkStreamer.update(viewport);
+        mutationQueue.flush();
+        this.collider = terrain.getCollider();
+        collider.register(avatar, null);
+
+        defineCollisions();
     }
 
     private void createStaticAndDynamicObjects(GameObjectFactory factory) {
         this.cloud = factory.createStaticObject(MIN_CLOUD_HEIGHT, MAX_CLOUD_HEIGHT,
                 CLOUD_PROB, CLOUD_PATHS, CLOUD_DIMENSIONS, STATIC_LAYER);
 
-        BirdStrategy birdStrategy = new BirdStrategy(imageReader, gameObjects());
-        factory.createBird(MIN_BIRD_HEIGHT, MAX_BIRD_HEIGHT, BIRD_CYCLE,
-                GREEN_BIRD_PATHS, this::getAvatarSide,
-                BIRD_DIMENSIONS, BIRD_VELOCITY, birdStrategy, BIRD_LAYER);
-        factory.createBird(MIN_BIRD_HEIGHT, MAX_BIRD_HEIGHT, BIRD_CYCLE - 2,
-                PINK_BIRD_PATHS, this::getAvatarSide,
-                BIRD_DIMENSIONS, BIRD_VELOCITY, birdStrategy, BIRD_LAYER);
+        BirdStrategy birdStrategy = new BirdStrategy(imageReader, timerWheel);
+        this.birdSpawners = new BirdSpawner[]{
+                factory.createBirdSpawner(MIN_BIRD_HEIGHT, MAX_BIRD_HEIGHT, BIRD_CYCLE,
+                        GREEN_BIRD_PATHS, BIRD_DIMENSIONS, BIRD_VELOCITY, birdStrategy, BIRD_LAYER),
+                factory.createBirdSpawner(MIN_BIRD_HEIGHT, MAX_BIRD_HEIGHT, BIRD_CYCLE - 2,
+                        PINK_BIRD_PATHS, BIRD_DIMENSIONS, BIRD_VELOCITY, birdStrategy, BIRD_LAYER)};
     }
 
     private void createSingleObjects(GameObjectFactory factory) {
@@ -183,24 +212,10 @@ public class PepseGameManager extends GameManager {
         meter.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
     }
 
-    private float getAvatarSide(String leftOrRight) {
-        if (leftOrRight.equals(LEFT)) {
-            return avatar.getCenter().x() - windowController.getWindowDimensions().x() * LOAD_FACTOR;
-        } else if (leftOrRight.equals(RIGHT)) {
-            return avatar.getCenter().x() + windowController.getWindowDimensions().x() * LOAD_FACTOR;
-        } else {
-            return 0;
-        }
-    }
-
     private void defineCollisions() {
-        gameObjects().layers().shouldLayersCollide(LEAF_LAYER, TERRAIN_LAYER, true);
-        gameObjects().layers().shouldLayersCollide(AVATAR_LAYER, TERRAIN_LAYER + 1, true);
-        gameObjects().layers().shouldLayersCollide(AVATAR_LAYER, TERRAIN_LAYER, true);
+        // Contact with the terrain is resolved by the heightmap collider, and contact between
+        // the avatar and the birds by the entity grid
         gameObjects().layers().shouldLayersCollide(LEAF_LAYER, TRUNK_LAYER, false);
-        gameObjects().layers().shouldLayersCollide(AVATAR_LAYER, BIRD_LAYER, true);
-        gameObjects().layers().shouldLayersCollide(TERRAIN_LAYER, BIRD_LAYER, true);
-        gameObjects().layers().shouldLayersCollide(TERRAIN_LAYER + 1, BIRD_LAYER, true);
         gameObjects().layers().shouldLayersCollide(AVATAR_LAYER, TRUNK_LAYER, true);
     }
 
@@ -214,34 +229,29 @@ public class PepseGameManager extends GameManager {
      */
     @Override
     public void update(float deltaTime) {
+        // The view is taken before objects update, so every subsystem sees the same one this frame
+        viewport.update(camera(), avatar);
+        levelOfDetail.update(viewport);
         super.update(deltaTime);
-        float avatarX = avatar.getCenter().x();
-
-        if (avatarX + screenSize / 2 > lastScreenEnd + Block.SIZE) {
-            createObjectsInRange(lastScreenEnd, lastScreenEnd + Block.SIZE);
-            deleteObjectsInRange(lastScreenStart - BLOCK_SIZE_OFFSET * Block.SIZE, lastScreenStart);
-            lastScreenStart = lastScreenStart + Block.SIZE;
-            lastScreenEnd = lastScreenEnd + Block.SIZE;
-        }
-
-        if (avatarX - screenSize / 2 < lastScreenStart - Block.SIZE) {
-            createObjectsInRange(lastScreenStart - Block.SIZE, lastScreenStart);
-            deleteObjectsInRange(lastScreenEnd, lastScreenEnd + BLOCK_SIZE_OFFSET * Block.SIZE);
-            lastScreenStart = lastScreenStart - Block.SIZE;
-            lastScreenEnd = lastScreenEnd - Block.SIZE;
+        timerWheel.update(deltaTime);
+        chunkStreamer.update(viewport);
+        collider.update();
+        entityGrid.update();
+        entityGrid.forEachNear(avatar, WAKE_DISTANCE, PepseGameManager::wake);
+        entityGrid.resolveContacts(avatar);
+        cleanup.update(viewport.getCenterX());
+        for (BirdSpawner spawner : birdSpawners) {
+            spawner.update(viewport);
         }
+        // Objects added and removed during the frame are applied to the game in one batch
+        mutationQueue.flush();
     }
 
-    private void createObjectsInRange(int start, int end) {
-        terrain.createInRange(start, end);
-        tree.createInRange(start, end);
-        cloud.createInRange(start, end);
-    }
-
-    private void deleteObjectsInRange(int start, int end) {
-        terrain.delete(start, end);
-        tree.delete(start, end);
-        cloud.delete(start, end);
+    // Sleeping objects near the avatar are woken up, so they can react to it
+    private static void wake(GameObject obj) {
+        if (obj instanceof Sleepable && ((Sleepable) obj).isAsleep()) {
+            ((Sleepable) obj).wake();
+        }
     }
 
     private HashMap<String, Integer> createLayerMap() {
@@ -3,14 +3,10 @@ package pepse.util;
 import pepse.world.Bird;
 import pepse.world.Avatar;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
-import danogl.components.ScheduledTask;
 import danogl.gui.ImageReader;
 import danogl.gui.rendering.ImageRenderable;
 import danogl.util.Vector2;
 
-import static pepse.PepseGameManager.BIRD_LAYER;
-
 /**
  * A strategy class for birds
  */
@@ -21,18 +17,18 @@ public class BirdStrategy extends Strategy {
     private static final float EXPLOSION_TIME = 0.4f;
     private static final Vector2 EXPLOSION_DIMENSIONS = new Vector2(40, 30);
     private static final int FULL_ENERGY = 100;
-    private static GameObjectCollection gameObjects;
+    private static TimerWheel timerWheel;
     private static ImageRenderable explosion;
     private static ImageRenderable chicken;
 
     /**
      * Constructor
      *
-     * @param reader      image reader to read the different bird states
-     * @param gameObjects game object collection
+     * @param reader     image reader to read the different bird states
+     * @param timerWheel timer wheel running the birds' timed behaviours
      */
-    public BirdStrategy(ImageReader reader, GameObjectCollection gameObjects) {
-        BirdStrategy.gameObjects = gameObjects;
+    public BirdStrategy(ImageReader reader, TimerWheel timerWheel) {
+        BirdStrategy.timerWheel = timerWheel;
         explosion = reader.readImage(EXPLOSION_PATH, true);
         chicken = reader.readImage(CHICKEN_PATH, true);
     }
@@ -55,14 +51,18 @@ public class BirdStrategy extends Strategy {
         }
         if (other instanceof Avatar && ((Bird) object).getGotHit() == 1) {
             object.renderer().setRenderable(explosion);
-            new ScheduledTask(object, EXPLOSION_TIME, false, () ->
-                    object.renderer().setRenderable(chicken));
+            int spawnCount = ((Bird) object).getSpawnCount();
+            timerWheel.schedule(EXPLOSION_TIME, () -> {
+                // The bird may have been removed and spawned again in the meantime
+                if (((Bird) object).getSpawnCount() == spawnCount) {
+                    object.renderer().setRenderable(chicken);
+                }
+            });
             object.setDimensions(EXPLOSION_DIMENSIONS);
-            object.setVelocity(Vector2.ZERO);
-            object.transform().setAccelerationY(GRAVITY);
+            ((Bird) object).fall(GRAVITY);
         } else if (other instanceof Avatar && ((Bird) object).getGotHit() > 1
                 && object.renderer().getRenderable() == chicken) {
-            gameObjects.removeGameObject(object, BIRD_LAYER);
+            ((Bird) object).remove();
             ((Avatar) other).setEnergyLevel(FULL_ENERGY);
         }
     }
@@ -0,0 +1,51 @@
+package pepse.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs world generation tasks on a pool of worker threads.
+ * Generation tasks are pure functions of their range and seed, so the results do not
+ * depend on the number of threads or on the order in which the tasks run.
+ * The workers are daemon threads, so they are never stopped explicitly and end with the game.
+ */
+public class ChunkGenerator {
+    private static final String THREAD_NAME = "chunk-generator";
+    private final ExecutorService executor;
+
+    /**
+     * Constructor
+     *
+     * @param threads number of worker threads, 0 runs every task on the calling thread
+     */
+    public ChunkGenerator(int threads) {
+        if (threads > 0) {
+            this.executor = Executors.newFixedThreadPool(threads, (task) -> {
+                Thread thread = new Thread(task, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Schedules a generation task
+     *
+     * @param task task to run
+     * @param <T>  type of the task's result
+     * @return a future holding the task's result
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        if (executor != null) {
+            return executor.submit(task);
+        }
+        FutureTask<T> future = new FutureTask<>(task);
+        future.run();
+        return future;
+    }
+}
@@ -0,0 +1,144 @@
+package pepse.util;
+
+import danogl.GameObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * Spreads the removal of objects that left the loaded part of the world over several frames.
+ * Scheduled objects stay in the game until their turn comes, and are then removed and recycled.
+ * Every frame removes at most a fixed number of objects and spends at most a fixed amount of
+ * time, nearest to the camera first, since those are the ones that may come back into view.
+ */
+public class CleanupScheduler {
+    private final WorldMutationQueue mutationQueue;
+    private final ArrayList<Entry> pending;
+    private final ArrayDeque<Entry> spare;
+    private final Comparator<Entry> furthestFirst = (a, b) -> Float.compare(distance(b), distance(a));
+    private int maxRemovalsPerFrame;
+    private long maxNanosPerFrame;
+    private float cameraX;
+
+    /**
+     * Constructor
+     *
+     * @param mutationQueue       queue for removing game objects
+     * @param maxRemovalsPerFrame max number of objects removed per frame
+     * @param maxNanosPerFrame    max time spent on removals per frame, in nanoseconds,
+     *                            0 for no time limit
+     */
+    public CleanupScheduler(WorldMutationQueue mutationQueue, int maxRemovalsPerFrame,
+                            long maxNanosPerFrame) {
+        this.mutationQueue = mutationQueue;
+        this.pending = new ArrayList<>();
+        this.spare = new ArrayDeque<>();
+        this.maxRemovalsPerFrame = maxRemovalsPerFrame;
+        this.maxNanosPerFrame = maxNanosPerFrame;
+    }
+
+    /**
+     * Schedules an object to be removed from the game
+     *
+     * @param obj      object to remove
+     * @param layer    layer the object is in
+     * @param x        x-value of the column the object belongs to
+     * @param recycler receives the object once it is removed, so it can be reused
+     */
+    public void schedule(GameObject obj, int layer, int x, Consumer<GameObject> recycler) {
+        Entry entry = spare.pollLast();
+        if (entry == null) {
+            entry = new Entry();
+        }
+        entry.obj = obj;
+        entry.layer = layer;
+        entry.x = x;
+        entry.recycler = recycler;
+        pending.add(entry);
+    }
+
+    /**
+     * Removes scheduled objects within the per-frame budget
+     *
+     * @param cameraX x-value of the camera's center
+     */
+    public void update(float cameraX) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (pending.size() > maxRemovalsPerFrame) {
+            // Furthest first, so the nearest objects are taken from the end of the list
+            this.cameraX = cameraX;
+            pending.sort(furthestFirst);
+        }
+        long start = System.nanoTime();
+        for (int removed = 0; removed < maxRemovalsPerFrame && !pending.isEmpty(); removed++) {
+            if (maxNanosPerFrame > 0 && System.nanoTime() - start > maxNanosPerFrame) {
+                return;
+            }
+            finish(pending.remove(pending.size() - 1));
+        }
+    }
+
+    /**
+     * Immediately removes all the scheduled objects in a given range, so they are gone before
+     * the range is created again
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     */
+    public void finishInRange(int minX, int maxX) {
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            Entry entry = pending.get(i);
+            if (entry.x >= minX && entry.x < maxX) {
+                Entry last = pending.remove(pending.size() - 1);
+                if (i < pending.size()) {
+                    pending.set(i, last);
+                }
+                finish(entry);
+            }
+        }
+    }
+
+    /**
+     * Setter for the per-frame budget
+     *
+     * @param maxRemovalsPerFrame max number of objects removed per frame
+     * @param maxNanosPerFrame    max time spent on removals per frame, in nanoseconds,
+     *                            0 for no time limit
+     */
+    public void setBudget(int maxRemovalsPerFrame, long maxNanosPerFrame) {
+        this.maxRemovalsPerFrame = maxRemovalsPerFrame;
+        this.maxNanosPerFrame = maxNanosPerFrame;
+    }
+
+    /**
+     * Getter for the number of objects waiting to be removed
+     *
+     * @return number of scheduled objects
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    private float distance(Entry entry) {
+        return Math.abs(entry.x - cameraX);
+    }
+
+    private void finish(Entry entry) {
+        mutationQueue.remove(entry.obj, entry.layer);
+        entry.recycler.accept(entry.obj);
+        entry.obj = null;
+        entry.recycler = null;
+        spare.addLast(entry);
+    }
+
+    private static class Entry {
+        private GameObject obj;
+        private int layer;
+        private int x;
+        private Consumer<GameObject> recycler;
+    }
+}
@@ -0,0 +1,62 @@
+package pepse.util;
+
+import danogl.gui.rendering.RectangleRenderable;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * A fixed set of colors similar to a base color, with a shared renderable for each of them.
+ * The color used at a given position is picked by hashing the position, so objects get the
+ * same color every time they are created at the same place, without allocating anything.
+ */
+public class ColorPalette {
+    private final Color[] colors;
+    private final RectangleRenderable[] renderables;
+
+    /**
+     * Constructor
+     *
+     * @param baseColor a color that the palette's colors approximate
+     * @param size      number of colors in the palette
+     */
+    public ColorPalette(Color baseColor, int size) {
+        Random random = new Random(baseColor.getRGB());
+        this.colors = new Color[size];
+        this.renderables = new RectangleRenderable[size];
+        for (int i = 0; i < size; i++) {
+            colors[i] = ColorSupplier.approximateColor(baseColor, random);
+            renderables[i] = new RectangleRenderable(colors[i]);
+        }
+    }
+
+    /**
+     * Returns the palette's color for a given position
+     *
+     * @param x x-axis coordinate of the position
+     * @param y y-axis coordinate of the position
+     * @return the color matching the position
+     */
+    public Color colorAt(int x, int y) {
+        return colors[indexAt(x, y)];
+    }
+
+    /**
+     * Returns the palette's shared renderable for a given position
+     *
+     * @param x x-axis coordinate of the position
+     * @param y y-axis coordinate of the position
+     * @return the renderable matching the position
+     */
+    public RectangleRenderable renderableAt(int x, int y) {
+        return renderables[indexAt(x, y)];
+    }
+
+    private int indexAt(int x, int y) {
+        int hash = x * 0x9E3779B1 ^ y * 0x85EBCA77;
+        hash ^= hash >>> 15;
+        hash *= 0x2C1B3C6D;
+        hash ^= hash >>> 12;
+        return Math.floorMod(hash, colors.length);
+    }
+}
@@ -30,11 +30,26 @@ public final class ColorSupplier {
      * @return A color similar to baseColor.
      */
     public static Color approximateColor(Color baseColor, int colorDelta) {
+        return approximateColor(baseColor, colorDelta, random);
+    }
+
+    /**
+     * Returns a color similar to baseColor, with a default delta, sampled from a given random
+     * object so the result can be reproduced.
+     *
+     * @param baseColor A color that we wish to approximate.
+     * @param random    The random object to sample the color channels with.
+     * @return A color similar to baseColor.
+     */
+    public static Color approximateColor(Color baseColor, Random random) {
+        return approximateColor(baseColor, DEFAULT_COLOR_DELTA, random);
+    }
 
+    private static Color approximateColor(Color baseColor, int colorDelta, Random random) {
         return new Color(
-                randomChannelInRange(baseColor.getRed() - colorDelta, baseColor.getRed() + colorDelta),
-                randomChannelInRange(baseColor.getGreen() - colorDelta, baseColor.getGreen() + colorDelta),
-                randomChannelInRange(baseColor.getBlue() - colorDelta, baseColor.getBlue() + colorDelta));
+                randomChannelInRange(baseColor.getRed() - colorDelta, baseColor.getRed() + colorDelta, random),
+                randomChannelInRange(baseColor.getGreen() - colorDelta, baseColor.getGreen() + colorDelta, random),
+                randomChannelInRange(baseColor.getBlue() - colorDelta, baseColor.getBlue() + colorDelta, random));
     }
 
     /**
@@ -42,9 +57,10 @@ public final class ColorSupplier {
      *
      * @param min The lower bound of the given range.
      * @param max The upper bound of the given range.
+     * @param random The random object to sample with.
      * @return A random number in the range [min, max], clipped to [0,255].
      */
-    private static int randomChannelInRange(int min, int max) {
+    private static int randomChannelInRange(int min, int max, Random random) {
         int channel = random.nextInt(max - min + 1) + min;
         return Math.min(255, Math.max(channel, 0));
     }
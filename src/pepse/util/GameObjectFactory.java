@@ -5,9 +5,7 @@ import pepse.world.daynight.Moon;
 import pepse.world.daynight.Night;
 import pepse.world.daynight.Sun;
 import pepse.world.trees.Tree;
-import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
-import danogl.components.ScheduledTask;
 import danogl.gui.ImageReader;
 import danogl.gui.UserInputListener;
 import danogl.gui.WindowController;
@@ -15,7 +13,6 @@ import danogl.gui.rendering.ImageRenderable;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 import java.util.HashMap;
-import java.util.function.Function;
 
 /**
  * A factory class for creating game objects
@@ -40,6 +37,11 @@ public class GameObjectFactory {
 
     //Class parameters and data structures
     private final GameObjectCollection gameObjects;
+    private final WorldMutationQueue mutationQueue;
+    private final CleanupScheduler cleanup;
+    private final TimerWheel timerWheel;
+    private final LevelOfDetail levelOfDetail;
+    private final EntityGrid entityGrid;
     private final WindowController windowController;
     private final HashMap<String, Integer> layerMap;
     private final int cycleLength;
@@ -52,6 +54,11 @@ public class GameObjectFactory {
      * Constructor
      *
      * @param gameObjects      game object collection
+     * @param mutationQueue    queue for adding and removing game objects while the game runs
+     * @param cleanup          scheduler removing objects of deleted world ranges
+     * @param timerWheel       timer wheel running the objects' timed behaviours
+     * @param levelOfDetail    decides which objects far from the camera are animated
+     * @param entityGrid       grid of the moving objects in the world
      * @param windowController a window controller object
      * @param layerMap         a map matching game objects to their layer
      * @param inputListener    input listener to get user input
@@ -59,10 +66,18 @@ public class GameObjectFactory {
      * @param cycleLength      the game's cycle length
      * @param randomSeed       seed for random objects
      */
-    public GameObjectFactory(GameObjectCollection gameObjects, WindowController windowController,
+    public GameObjectFactory(GameObjectCollection gameObjects, WorldMutationQueue mutationQueue,
+                             CleanupScheduler cleanup, TimerWheel timerWheel,
+                             LevelOfDetail levelOfDetail, EntityGrid entityGrid,
+                             WindowController windowController,
                              HashMap<String, Integer> layerMap, UserInputListener inputListener,
                              ImageReader imageReader, int cycleLength, int randomSeed) {
         this.gameObjects = gameObjects;
+        this.mutationQueue = mutationQueue;
+        this.cleanup = cleanup;
+        this.timerWheel = timerWheel;
+        this.levelOfDetail = levelOfDetail;
+        this.entityGrid = entityGrid;
         this.windowController = windowController;
         this.layerMap = layerMap;
         this.cycleLength = cycleLength;
@@ -86,7 +101,7 @@ public class GameObjectFactory {
                     windowController.getWindowDimensions(), cycleLength);
         }
         if (obj.equals(TERRAIN)) {
-            this.terrain = new Terrain(gameObjects, layerMap.get(obj),
+            this.terrain = new Terrain(mutationQueue, cleanup, layerMap.get(obj),
                     windowController.getWindowDimensions(), randomSeed);
             return this.terrain;
         }
@@ -100,7 +115,8 @@ public class GameObjectFactory {
                     windowController.getWindowDimensions(), cycleLength, moonImage);
         }
         if (obj.equals(TREE)) {
-            return new Tree(terrain::groundHeightAt, gameObjects, randomSeed,
+            return new Tree(terrain::groundHeightAt, terrain.getCollider(), mutationQueue,
+                    cleanup, levelOfDetail, randomSeed,
                     layerMap.get(LEAF), layerMap.get(TRUNK));
         }
         if (obj.equals(AVATAR)) {
@@ -124,37 +140,31 @@ public class GameObjectFactory {
     public StaticObject createStaticObject(int minHeight, int maxHeight, int probability,
                                            String[] paths, Vector2 dimensions, int layer) {
         Renderable[] renders = createRendersListFromPathsList(paths);
-        return new StaticObject(gameObjects, randomSeed, minHeight, maxHeight,
+        return new StaticObject(mutationQueue, cleanup, randomSeed, minHeight, maxHeight,
                 probability, renders, dimensions, layer);
     }
 
     /**
-     * Creates birds that implement a collision strategy
+     * Creates a spawner of birds that implement a collision strategy, spawning a bird every cycle
      *
-     * @param minHeight         min height for the bird on screen
-     * @param maxHeight         max height for the bird on screen
-     * @param cycle             cycle length of the bird
-     * @param paths             an array of paths for the birds' images
-     * @param determineSideFunc function that defines which side the bird moves to
-     * @param dimensions        dimension of the bird object
-     * @param velocity          velocity of the bird
-     * @param strategy          the bird's strategy to activate
-     * @param layer             layer to add the bird to
-     * @return a bird object
+     * @param minHeight  min height for the bird on screen
+     * @param maxHeight  max height for the bird on screen
+     * @param cycle      time between spawns, in seconds
+     * @param paths      an array of paths for the birds' images
+     * @param dimensions dimension of the bird object
+     * @param velocity   velocity of the bird
+     * @param strategy   the bird's strategy to activate
+     * @param layer      layer to add the bird to
+     * @return the bird spawner
      */
-    public Bird createBird(int minHeight, int maxHeight, int cycle, String[] paths,
-                           Function<String, Float> determineSideFunc,
-                           Vector2 dimensions, Vector2 velocity,
-                           Strategy strategy, int layer) {
+    public BirdSpawner createBirdSpawner(int minHeight, int maxHeight, int cycle, String[] paths,
+                                         Vector2 dimensions, Vector2 velocity,
+                                         Strategy strategy, int layer) {
         Renderable[] renders = createRendersListFromPathsList(paths);
-        Bird obj = new Bird(gameObjects, dimensions, renders, determineSideFunc,
-                minHeight, maxHeight, cycle, velocity, Vector2.ZERO, strategy, layer);
-        GameObject generator = new GameObject(Vector2.ZERO, Vector2.ZERO, null);
-        GameObject bla = new GameObject(Vector2.ZERO, Vector2.ZERO, null);
-        gameObjects.addGameObject(bla, layer);
-        gameObjects.addGameObject(generator, layer + 1);
-        new ScheduledTask(generator, cycle, true, obj::create);
-        return obj;
+        BirdSpawner spawner = new BirdSpawner(mutationQueue, terrain.getCollider(), entityGrid, dimensions,
+                renders, minHeight, maxHeight, velocity, strategy, layer);
+        timerWheel.scheduleRepeating(cycle, spawner::spawn);
+        return spawner;
     }
 
     private Renderable[] createRendersListFromPathsList(String[] paths) {
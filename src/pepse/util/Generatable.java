@@ -0,0 +1,50 @@
+package pepse.util;
+
+/**
+ * Interface for creatable objects whose creation is split into steps: generating the
+ * pure data describing the objects in a range, which may run on any thread, building the
+ * game objects from that data, and attaching the built objects to the game. The last two run
+ * on the game thread, and may be far apart, so objects can be built before they are needed.
+ *
+ * @param <T> type of the generated data
+ */
+public interface Generatable<T> extends Creatable {
+
+    /**
+     * Computes the data describing the objects in a given range. Must not touch the game
+     * object collection, and must return the same result for the same range on any thread.
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     * @return the generated data
+     */
+    T generate(int minX, int maxX);
+
+    /**
+     * Creates the game objects described by previously generated data, without adding them
+     * to the game
+     *
+     * @param data data returned by generate
+     */
+    void build(T data);
+
+    /**
+     * Adds the built objects in a given range to the game
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     */
+    void attach(int minX, int maxX);
+
+    /**
+     * Creates objects in a given range on the calling thread
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     */
+    @Override
+    default void createInRange(int minX, int maxX) {
+        build(generate(minX, maxX));
+        attach(minX, maxX);
+    }
+}
@@ -0,0 +1,64 @@
+package pepse.util;
+
+/**
+ * Decides which objects are close enough to the camera to be animated.
+ * Objects whose bounds are outside the camera's view, expanded by a margin, or whose center is
+ * further than a max distance from the view's center, may freeze their animations until they
+ * come back. The view is taken from the frame's ViewportSnapshot.
+ */
+public class LevelOfDetail {
+    private final float margin;
+    private final float maxDistance;
+    private float viewLeft;
+    private float viewTop;
+    private float viewRight;
+    private float viewBottom;
+    private float viewCenterX;
+    private boolean hasView;
+
+    /**
+     * Constructor
+     *
+     * @param margin      distance around the camera's view in which objects are still animated
+     * @param maxDistance max horizontal distance of an animated object's center from the view's
+     *                    center
+     */
+    public LevelOfDetail(float margin, float maxDistance) {
+        this.margin = margin;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Updates the view from the frame's snapshot
+     *
+     * @param viewport the current frame's view
+     */
+    public void update(ViewportSnapshot viewport) {
+        viewLeft = viewport.getLeft() - margin;
+        viewTop = viewport.getTop() - margin;
+        viewRight = viewport.getRight() + margin;
+        viewBottom = viewport.getBottom() + margin;
+        viewCenterX = viewport.getCenterX();
+        hasView = viewport.isTaken();
+    }
+
+    /**
+     * Checks whether an object with given bounds should be animated
+     *
+     * @param left   x-value of the object's left edge
+     * @param top    y-value of the object's top edge
+     * @param width  width of the object
+     * @param height height of the object
+     * @return true if the object is near the view, or no view was set yet
+     */
+    public boolean isAnimated(float left, float top, float width, float height) {
+        if (!hasView) {
+            return true;
+        }
+        if (Math.abs(left + width / 2 - viewCenterX) > maxDistance) {
+            return false;
+        }
+        return left < viewRight && left + width > viewLeft &&
+                top < viewBottom && top + height > viewTop;
+    }
+}
@@ -0,0 +1,191 @@
+package pepse.util;
+
+import pepse.world.Block;
+import danogl.GameObject;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Maps x-values of the world's columns to the objects created there, together with the layer
+ * each object belongs to.
+ * Objects of a new column are only registered, and are added to the game together when their
+ * column is attached, so columns can be built ahead of time.
+ * Uses an open addressing table keyed by the primitive x-value, and drops a column's entry
+ * as soon as its objects are deleted, so its size only depends on the loaded part of the world.
+ */
+public class LocationIndex {
+    private static final String SMALLER = "smaller";
+    private static final String BIGGER = "bigger";
+    private static final int INITIAL_CAPACITY = 256;
+    private static final float MAX_LOAD = 0.5f;
+    private static final int INITIAL_BUCKET_SIZE = 4;
+    private int[] keys;
+    private Bucket[] buckets;
+    private boolean[] used;
+    private int size;
+
+    /**
+     * Constructor
+     */
+    public LocationIndex() {
+        this.keys = new int[INITIAL_CAPACITY];
+        this.buckets = new Bucket[INITIAL_CAPACITY];
+        this.used = new boolean[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Registers an object created at a given column. If the column is already attached,
+     * the caller is responsible for adding the object to the game.
+     *
+     * @param x     x-value of the column
+     * @param obj   the created object
+     * @param layer layer the object belongs to
+     */
+    public void add(int x, GameObject obj, int layer) {
+        int slot = findSlot(x);
+        if (!used[slot]) {
+            if (size + 1 > keys.length * MAX_LOAD) {
+                grow();
+                slot = findSlot(x);
+            }
+            used[slot] = true;
+            keys[slot] = x;
+            buckets[slot] = new Bucket();
+            size++;
+        }
+        buckets[slot].add(obj, layer);
+    }
+
+    /**
+     * Adds all the objects registered in a given range to the game, if their column is not
+     * attached yet
+     *
+     * @param minX        start of range
+     * @param maxX        end of range
+     * @param mutationQueue queue for adding and removing game objects
+     */
+    public void attachInRange(int minX, int maxX, WorldMutationQueue mutationQueue) {
+        int newMinX = Block.findClosest(SMALLER, minX);
+        int newMaxX = Block.findClosest(BIGGER, maxX);
+
+        for (int x = newMinX; x < newMaxX; x += Block.SIZE) {
+            int slot = findSlot(x);
+            if (used[slot] && !buckets[slot].attached) {
+                Bucket bucket = buckets[slot];
+                for (int i = 0; i < bucket.count; i++) {
+                    mutationQueue.add(bucket.objects[i], bucket.layers[i]);
+                }
+                bucket.attached = true;
+            }
+        }
+    }
+
+    /**
+     * Drops the columns in a given range from the index, and schedules their objects to be
+     * removed from the game. Objects of columns that were never attached are recycled directly.
+     *
+     * @param minX     start of range
+     * @param maxX     end of range
+     * @param cleanup  scheduler removing the objects from the game
+     * @param recycler receives every removed object, so it can be reused
+     */
+    public void deleteInRange(int minX, int maxX, CleanupScheduler cleanup,
+                              Consumer<GameObject> recycler) {
+        int newMinX = Block.findClosest(SMALLER, minX);
+        int newMaxX = Block.findClosest(BIGGER, maxX);
+
+        for (int x = newMinX; x < newMaxX; x += Block.SIZE) {
+            int slot = findSlot(x);
+            if (used[slot]) {
+                Bucket bucket = buckets[slot];
+                removeSlot(slot);
+                for (int i = 0; i < bucket.count; i++) {
+                    if (bucket.attached) {
+                        cleanup.schedule(bucket.objects[i], bucket.layers[i], x, recycler);
+                    } else {
+                        recycler.accept(bucket.objects[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Getter for the number of columns that have registered objects
+     *
+     * @return number of columns in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    private int findSlot(int x) {
+        int mask = keys.length - 1;
+        int slot = hash(x) & mask;
+        while (used[slot] && keys[slot] != x) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward shift deletion, so lookups never need tombstones
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        used[slot] = false;
+        buckets[slot] = null;
+        size--;
+        int next = (slot + 1) & mask;
+        while (used[next]) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                buckets[slot] = buckets[next];
+                used[slot] = true;
+                used[next] = false;
+                buckets[next] = null;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        Bucket[] oldBuckets = buckets;
+        boolean[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        buckets = new Bucket[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = findSlot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                buckets[slot] = oldBuckets[i];
+            }
+        }
+    }
+
+    private static int hash(int x) {
+        int h = x * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    private static class Bucket {
+        private GameObject[] objects = new GameObject[INITIAL_BUCKET_SIZE];
+        private int[] layers = new int[INITIAL_BUCKET_SIZE];
+        private int count;
+        private boolean attached;
+
+        private void add(GameObject obj, int layer) {
+            if (count == objects.length) {
+                objects = Arrays.copyOf(objects, count * 2);
+                layers = Arrays.copyOf(layers, count * 2);
+            }
+            objects[count] = obj;
+            layers[count] = layer;
+            count++;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package pepse.util;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * A class representing Perlin Noise
+ * A class representing one dimensional Perlin Noise
  */
 public class NoiseGenerator {
     private static final int[] PERMUTATION_ARRAY = {151, 160, 137, 91, 90, 15, 131, 13, 201,
@@ -24,9 +27,18 @@ public class NoiseGenerator {
             84, 204, 176, 115, 121, 50, 45, 127, 4, 150, 254, 138, 236,
             205, 93, 222, 114, 67, 29, 24, 72, 243, 141, 128, 195, 78, 66,
             215, 61, 156, 180};
+    private static final double DEFAULT_SIZE = 35;
+    private static final int[] P = createPermutationTable();
+    private static final double[] OCTAVE_SIZES = createOctaveSizes();
+    private static final Map<Double, NoiseGenerator> GENERATORS = new ConcurrentHashMap<>();
     private final double seed;
-    private long default_size;
-    private int[] p;
+
+    // The noise is sampled along the x-axis only, so the y and z coordinates of every sample
+    // are fixed: y is offset by the seed and z is always 0. Their lattice cell and fade value
+    // are computed once here instead of for every sample.
+    private final int cellY;
+    private final double relativeY;
+    private final double fadeY;
 
     /**
      * Constructor
@@ -35,20 +47,43 @@ public class NoiseGenerator {
      */
     public NoiseGenerator(double seed) {
         this.seed = seed;
-        init();
+        double y = 0.0 + seed;
+        this.cellY = (int) Math.floor(y) & 255;
+        this.relativeY = y - Math.floor(y);
+        this.fadeY = fade(relativeY);
     }
 
-    private void init() {
-        // Initialize the permutation array.
-        this.p = new int[512];
-        int[] permutation = PERMUTATION_ARRAY;
-        this.default_size = 35;
+    /**
+     * Returns a shared generator for a given seed. Generators are immutable, so the returned
+     * instance may be used from any thread.
+     *
+     * @param seed seed for the random object
+     * @return a generator for the seed
+     */
+    public static NoiseGenerator forSeed(double seed) {
+        return GENERATORS.computeIfAbsent(seed, NoiseGenerator::new);
+    }
 
-        // Populate it
+    private static int[] createPermutationTable() {
+        int[] p = new int[512];
         for (int i = 0; i < 256; i++) {
-            p[256 + i] = p[i] = permutation[i];
+            p[256 + i] = p[i] = PERMUTATION_ARRAY[i];
         }
+        return p;
+    }
 
+    private static double[] createOctaveSizes() {
+        int octaves = 0;
+        for (double size = DEFAULT_SIZE; size >= 1; size /= 2.0) {
+            octaves++;
+        }
+        double[] sizes = new double[octaves];
+        double size = DEFAULT_SIZE;
+        for (int i = 0; i < octaves; i++) {
+            sizes[i] = size;
+            size /= 2.0;
+        }
+        return sizes;
     }
 
     /**
@@ -59,61 +94,74 @@ public class NoiseGenerator {
      */
     public double noise(double x) {
         double value = 0.0;
-        double size = default_size;
-        double initialSize = size;
-
-        while (size >= 1) {
-            value += smoothNoise((x / size), (0f / size), (0f / size)) * size;
-            size /= 2.0;
+        for (double size : OCTAVE_SIZES) {
+            value += smoothNoise(x / size) * size;
         }
+        return value / DEFAULT_SIZE;
+    }
 
-        return value / initialSize;
+    /**
+     * Returns the y-values matching a batch of x-values. Gives exactly the same values as
+     * calling noise(double) for every x-value, but runs each octave over the whole batch in
+     * one tight loop over primitive arrays.
+     *
+     * @param xs  given x-values
+     * @param out array to write the matching y-values to, at least as long as xs
+     */
+    public void noise(double[] xs, double[] out) {
+        int count = xs.length;
+        if (out.length < count) {
+            throw new IllegalArgumentException("out is shorter than xs");
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] = 0.0;
+        }
+        for (double size : OCTAVE_SIZES) {
+            for (int i = 0; i < count; i++) {
+                out[i] += smoothNoise(xs[i] / size) * size;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] /= DEFAULT_SIZE;
+        }
     }
 
-    private double smoothNoise(double x, double y, double z) {
-        // Offset each coordinate by the seed value
+    private double smoothNoise(double x) {
+        // Offset the coordinate by the seed value
         x += this.seed;
-        y += this.seed;
         x += this.seed;
 
-        int X = (int) Math.floor(x) & 255; // FIND UNIT CUBE THAT
-        int Y = (int) Math.floor(y) & 255; // CONTAINS POINT.
-        int Z = (int) Math.floor(z) & 255;
-
-        x -= Math.floor(x); // FIND RELATIVE X,Y,Z
-        y -= Math.floor(y); // OF POINT IN CUBE.
-        z -= Math.floor(z);
-
-        double u = fade(x); // COMPUTE FADE CURVES
-        double v = fade(y); // FOR EACH OF X,Y,Z.
-        double w = fade(z);
-
-        int A = p[X] + Y;
-        int AA = p[A] + Z;
-        int AB = p[A + 1] + Z; // HASH COORDINATES OF
-        int B = p[X + 1] + Y;
-        int BA = p[B] + Z;
-        int BB = p[B + 1] + Z; // THE 8 CUBE CORNERS,
-
-        return lerp(w, lerp(v, lerp(u, grad(p[AA], x, y, z),    // AND ADD
-                                grad(p[BA], x - 1, y, z)), // BLENDED
-                        lerp(u, grad(p[AB], x, y - 1, z),    // RESULTS
-                                grad(p[BB], x - 1, y - 1, z))),// FROM 8
-                lerp(v, lerp(u, grad(p[AA + 1], x, y, z - 1),    // CORNERS
-                                grad(p[BA + 1], x - 1, y, z - 1)), // OF CUBE
-                        lerp(u, grad(p[AB + 1], x, y - 1, z - 1),
-                                grad(p[BB + 1], x - 1, y - 1, z - 1))));
+        double floorX = Math.floor(x);
+        int X = (int) floorX & 255; // FIND UNIT SEGMENT THAT CONTAINS POINT.
+        x -= floorX; // FIND RELATIVE X OF POINT IN SEGMENT.
+        double u = fade(x);
+
+        int A = P[X] + cellY;
+        int AA = P[A];
+        int B = P[X + 1] + cellY;
+        int BA = P[B];
+
+        // z is 0, so the far face of the cube never contributes, and when y falls on the
+        // lattice only the two corners of the x segment do.
+        double nearY = lerp(u, grad(P[AA], x, relativeY, 0), grad(P[BA], x - 1, relativeY, 0));
+        if (fadeY == 0) {
+            return nearY;
+        }
+        int AB = P[A + 1];
+        int BB = P[B + 1];
+        return lerp(fadeY, nearY, lerp(u, grad(P[AB], x, relativeY - 1, 0),
+                grad(P[BB], x - 1, relativeY - 1, 0)));
     }
 
-    private double fade(double t) {
+    private static double fade(double t) {
         return t * t * t * (t * (t * 6 - 15) + 10);
     }
 
-    private double lerp(double t, double a, double b) {
+    private static double lerp(double t, double a, double b) {
         return a + t * (b - a);
     }
 
-    private double grad(int hash, double x, double y, double z) {
+    private static double grad(int hash, double x, double y, double z) {
         int h = hash & 15; // CONVERT LO 4 BITS OF HASH CODE
         double u = h < 8 ? x : y, // INTO 12 GRADIENT DIRECTIONS.
                 v = h < 4 ? y : h == 12 || h == 14 ? x : z;
@@ -0,0 +1,124 @@
+package pepse.util;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable objects. Released objects are kept, up to the pool's capacity, and
+ * handed back out instead of allocating new ones.
+ * Callers are responsible for resetting the objects they acquire.
+ *
+ * @param <T> type of the pooled objects
+ */
+public class ObjectPool<T> {
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> idle;
+    private int capacity;
+    private int createdCount;
+    private int reusedCount;
+    private int droppedCount;
+
+    /**
+     * Constructor
+     *
+     * @param factory  creates a new object when the pool is empty
+     * @param capacity max number of idle objects the pool keeps
+     */
+    public ObjectPool(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        this.idle = new ArrayDeque<>();
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns an idle object, or a new one if the pool is empty
+     *
+     * @return an object that is not in use
+     */
+    public T acquire() {
+        T object = idle.pollLast();
+        if (object == null) {
+            createdCount++;
+            return factory.get();
+        }
+        reusedCount++;
+        return object;
+    }
+
+    /**
+     * Hands an object that is no longer in use back to the pool
+     *
+     * @param object object to release
+     */
+    public void release(T object) {
+        if (idle.size() < capacity) {
+            idle.addLast(object);
+        } else {
+            droppedCount++;
+        }
+    }
+
+    /**
+     * Sets the max number of idle objects the pool keeps, dropping idle objects above it
+     *
+     * @param capacity new capacity
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+        while (idle.size() > capacity) {
+            idle.pollFirst();
+            droppedCount++;
+        }
+    }
+
+    /**
+     * Getter for the max number of idle objects the pool keeps
+     *
+     * @return pool capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Getter for the number of idle objects currently in the pool
+     *
+     * @return number of idle objects
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Getter for the number of objects the pool had to allocate
+     *
+     * @return number of created objects
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Getter for the number of times an idle object was handed out again
+     *
+     * @return number of reused objects
+     */
+    public int getReusedCount() {
+        return reusedCount;
+    }
+
+    /**
+     * Getter for the number of released objects that were discarded because the pool was full
+     *
+     * @return number of dropped objects
+     */
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "idle=" + idle.size() + "/" + capacity + " created=" + createdCount +
+                " reused=" + reusedCount + " dropped=" + droppedCount;
+    }
+}
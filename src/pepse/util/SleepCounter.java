@@ -0,0 +1,54 @@
+package pepse.util;
+
+/**
+ * Counts the frames an object has been at rest, and puts it to sleep after enough of them.
+ * A sleeping object skips its per-frame update and collisions, so the cost of a frame depends on
+ * the number of objects that move, and not on the number of objects in the game.
+ */
+public class SleepCounter {
+    private final int framesToSleep;
+    private int restingFrames;
+    private boolean asleep;
+
+    /**
+     * Constructor
+     *
+     * @param framesToSleep number of consecutive frames at rest after which the object sleeps
+     */
+    public SleepCounter(int framesToSleep) {
+        this.framesToSleep = framesToSleep;
+    }
+
+    /**
+     * Counts a frame
+     *
+     * @param atRest whether the object was at rest in this frame
+     * @return true if the object is asleep
+     */
+    public boolean update(boolean atRest) {
+        if (!atRest) {
+            restingFrames = 0;
+            asleep = false;
+        } else if (!asleep && ++restingFrames >= framesToSleep) {
+            asleep = true;
+        }
+        return asleep;
+    }
+
+    /**
+     * Checks whether the object is asleep
+     *
+     * @return true if the object is asleep
+     */
+    public boolean isAsleep() {
+        return asleep;
+    }
+
+    /**
+     * Wakes the object up and starts counting from zero
+     */
+    public void wake() {
+        restingFrames = 0;
+        asleep = false;
+    }
+}
@@ -0,0 +1,20 @@
+package pepse.util;
+
+/**
+ * Interface for objects that stop updating and colliding while they rest, until they are woken.
+ */
+public interface Sleepable {
+
+    /**
+     * Checks whether the object is asleep
+     *
+     * @return true if the object is asleep
+     */
+    boolean isAsleep();
+
+    /**
+     * Wakes the object up, it updates and collides again until it rests long enough to fall
+     * asleep again
+     */
+    void wake();
+}
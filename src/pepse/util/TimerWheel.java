@@ -0,0 +1,151 @@
+package pepse.util;
+
+/**
+ * A hashed timer wheel running timed callbacks for the whole game.
+ * Time is split into fixed ticks, and every timer is kept in the wheel slot of the tick it
+ * expires on, so advancing the wheel only visits the timers of the current slot, and objects
+ * waiting for a timer cost nothing per frame. Timers further away than one turn of the wheel
+ * stay in their slot until their turn comes.
+ * Cancelled timers are dropped the next time their slot is visited.
+ */
+public class TimerWheel {
+    private final float tickLength;
+    private final int mask;
+    private final Timer[] slots;
+    private long currentTick;
+    private float accumulated;
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param tickLength length of a tick in seconds, timers expire on tick boundaries
+     * @param slotCount  number of slots in the wheel, rounded up to a power of two
+     */
+    public TimerWheel(float tickLength, int slotCount) {
+        int capacity = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.tickLength = tickLength;
+        this.mask = capacity - 1;
+        this.slots = new Timer[capacity];
+    }
+
+    /**
+     * Schedules a callback to run once
+     *
+     * @param delay    time until the callback runs, in seconds
+     * @param callback callback to run
+     * @return the scheduled timer, which may be cancelled
+     */
+    public Timer schedule(float delay, Runnable callback) {
+        return insert(new Timer(callback, 0), toTicks(delay));
+    }
+
+    /**
+     * Schedules a callback to run repeatedly
+     *
+     * @param period   time between runs, in seconds, the first run is one period from now
+     * @param callback callback to run
+     * @return the scheduled timer, which may be cancelled
+     */
+    public Timer scheduleRepeating(float period, Runnable callback) {
+        long periodTicks = toTicks(period);
+        return insert(new Timer(callback, periodTicks), periodTicks);
+    }
+
+    /**
+     * Advances the wheel, running every callback whose time has come
+     *
+     * @param deltaTime time passed since the last update, in seconds
+     */
+    public void update(float deltaTime) {
+        accumulated += deltaTime;
+        while (accumulated >= tickLength) {
+            accumulated -= tickLength;
+            currentTick++;
+            expire((int) (currentTick & mask));
+        }
+    }
+
+    /**
+     * Getter for the number of timers in the wheel, including cancelled ones not dropped yet
+     *
+     * @return number of timers
+     */
+    public int size() {
+        return size;
+    }
+
+    private long toTicks(float delay) {
+        return Math.max(1, (long) Math.ceil(delay / tickLength));
+    }
+
+    private Timer insert(Timer timer, long ticks) {
+        timer.deadline = currentTick + ticks;
+        link(timer);
+        return timer;
+    }
+
+    private void link(Timer timer) {
+        int slot = (int) (timer.deadline & mask);
+        timer.next = slots[slot];
+        slots[slot] = timer;
+        size++;
+    }
+
+    private void expire(int slot) {
+        // Callbacks may schedule new timers into this slot, so the current list is detached first
+        Timer timer = slots[slot];
+        slots[slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            size--;
+            if (timer.cancelled) {
+                timer.next = null;
+            } else if (timer.deadline > currentTick) {
+                link(timer);
+            } else {
+                timer.next = null;
+                if (timer.period > 0) {
+                    timer.deadline += timer.period;
+                    link(timer);
+                } else {
+                    timer.cancelled = true;
+                }
+                timer.callback.run();
+            }
+            timer = next;
+        }
+    }
+
+    /**
+     * A callback scheduled on the wheel
+     */
+    public static class Timer {
+        private final Runnable callback;
+        private final long period;
+        private long deadline;
+        private boolean cancelled;
+        private Timer next;
+
+        private Timer(Runnable callback, long period) {
+            this.callback = callback;
+            this.period = period;
+        }
+
+        /**
+         * Stops the timer, its callback will not run anymore
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Checks whether the timer's callback may still run
+         *
+         * @return true if the timer was not cancelled, and did not run yet if it runs once
+         */
+        public boolean isActive() {
+            return !cancelled;
+        }
+    }
+}
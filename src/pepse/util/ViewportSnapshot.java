@@ -0,0 +1,161 @@
+package pepse.util;
+
+import danogl.GameObject;
+
+/**
+ * The bounds of the camera's view and the avatar's movement, taken once at the start of every
+ * frame, so streaming, cleanup, spawning and level of detail all work with the same view
+ * instead of each computing their own.
+ * Around the view are two margins: objects appear at the load margin, and are removed once they
+ * are beyond the unload margin.
+ */
+public class ViewportSnapshot {
+    private final float loadMargin;
+    private final float unloadMargin;
+    private float left;
+    private float top;
+    private float right;
+    private float bottom;
+    private float avatarX;
+    private float velocityX;
+    private boolean taken;
+
+    /**
+     * Constructor
+     *
+     * @param loadMargin   distance from the view's sides at which objects are added
+     * @param unloadMargin distance from the view's sides beyond which objects are removed,
+     *                     must not be smaller than loadMargin
+     */
+    public ViewportSnapshot(float loadMargin, float unloadMargin) {
+        if (unloadMargin < loadMargin) {
+            throw new IllegalArgumentException("unloadMargin must be at least loadMargin");
+        }
+        this.loadMargin = loadMargin;
+        this.unloadMargin = unloadMargin;
+    }
+
+    /**
+     * Takes the snapshot for the current frame
+     *
+     * @param camera the game's camera
+     * @param avatar the avatar
+     */
+    public void update(GameObject camera, GameObject avatar) {
+        left = camera.getTopLeftCorner().x();
+        top = camera.getTopLeftCorner().y();
+        right = left + camera.getDimensions().x();
+        bottom = top + camera.getDimensions().y();
+        avatarX = avatar.getCenter().x();
+        velocityX = avatar.getVelocity().x();
+        taken = true;
+    }
+
+    /**
+     * Checks whether a snapshot was taken yet
+     *
+     * @return true if update was called at least once
+     */
+    public boolean isTaken() {
+        return taken;
+    }
+
+    /**
+     * Getter for the x-value of the view's left edge
+     *
+     * @return x-value of the view's left edge
+     */
+    public float getLeft() {
+        return left;
+    }
+
+    /**
+     * Getter for the y-value of the view's top edge
+     *
+     * @return y-value of the view's top edge
+     */
+    public float getTop() {
+        return top;
+    }
+
+    /**
+     * Getter for the x-value of the view's right edge
+     *
+     * @return x-value of the view's right edge
+     */
+    public float getRight() {
+        return right;
+    }
+
+    /**
+     * Getter for the y-value of the view's bottom edge
+     *
+     * @return y-value of the view's bottom edge
+     */
+    public float getBottom() {
+        return bottom;
+    }
+
+    /**
+     * Getter for the x-value of the view's center
+     *
+     * @return x-value of the view's center
+     */
+    public float getCenterX() {
+        return (left + right) / 2;
+    }
+
+    /**
+     * Getter for the x-value at which objects are added on the view's left
+     *
+     * @return x-value at which objects are added on the left
+     */
+    public float getLoadLeft() {
+        return left - loadMargin;
+    }
+
+    /**
+     * Getter for the x-value at which objects are added on the view's right
+     *
+     * @return x-value at which objects are added on the right
+     */
+    public float getLoadRight() {
+        return right + loadMargin;
+    }
+
+    /**
+     * Getter for the x-value left of which objects are removed
+     *
+     * @return x-value left of which objects are removed
+     */
+    public float getUnloadLeft() {
+        return left - unloadMargin;
+    }
+
+    /**
+     * Getter for the x-value right of which objects are removed
+     *
+     * @return x-value right of which objects are removed
+     */
+    public float getUnloadRight() {
+        return right + unloadMargin;
+    }
+
+    /**
+     * Getter for the x-value of the avatar's center
+     *
+     * @return x-value of the avatar's center
+     */
+    public float getAvatarX() {
+        return avatarX;
+    }
+
+    /**
+     * Getter for the avatar's horizontal velocity
+     *
+     * @return horizontal velocity of the avatar
+     */
+    public float getVelocityX() {
+        return velocityX;
+    }
+}
@@ -0,0 +1,139 @@
+package pepse.util;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Collects additions and removals of game objects, and applies them together at a fixed point
+ * of the frame, instead of in the middle of updates and collision callbacks.
+ * Only the net change of every object is kept, so requests that cancel each other out, such as
+ * removing an object and adding it back to the same layer, never reach the game object
+ * collection. The remaining requests are applied sorted by layer, removals first.
+ */
+public class WorldMutationQueue {
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final Comparator<Mutation> BY_REMOVE_LAYER =
+            Comparator.comparingInt(mutation -> mutation.removeLayer);
+    private static final Comparator<Mutation> BY_ADD_LAYER =
+            Comparator.comparingInt(mutation -> mutation.addLayer);
+    private final GameObjectCollection gameObjects;
+    private final HashMap<GameObject, Mutation> pending;
+    private final ArrayList<Mutation> batch;
+    private final ArrayDeque<Mutation> spare;
+
+    /**
+     * Constructor
+     *
+     * @param gameObjects game object collection the requests are applied to
+     */
+    public WorldMutationQueue(GameObjectCollection gameObjects) {
+        this.gameObjects = gameObjects;
+        this.pending = new HashMap<>();
+        this.batch = new ArrayList<>();
+        this.spare = new ArrayDeque<>();
+    }
+
+    /**
+     * Requests to add an object to the game
+     *
+     * @param obj   object to add
+     * @param layer layer to add the object to
+     */
+    public void add(GameObject obj, int layer) {
+        Mutation mutation = pending.get(obj);
+        if (mutation == null) {
+            mutation = obtain(obj);
+        } else if (mutation.removeLayer == layer) {
+            // The object is already in that layer, so it simply stays there
+            mutation.removeLayer = NONE;
+            mutation.addLayer = NONE;
+            release(mutation);
+            return;
+        }
+        mutation.addLayer = layer;
+    }
+
+    /**
+     * Requests to remove an object from the game
+     *
+     * @param obj   object to remove
+     * @param layer layer the object is in
+     */
+    public void remove(GameObject obj, int layer) {
+        Mutation mutation = pending.get(obj);
+        if (mutation == null) {
+            obtain(obj).removeLayer = layer;
+        } else if (mutation.addLayer != NONE) {
+            // The object was never added, so only its earlier removal, if any, is kept
+            mutation.addLayer = NONE;
+            if (mutation.removeLayer == NONE) {
+                release(mutation);
+            }
+        }
+    }
+
+    /**
+     * Applies all the pending requests to the game object collection
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        batch.addAll(pending.values());
+        pending.clear();
+
+        batch.sort(BY_REMOVE_LAYER);
+        for (Mutation mutation : batch) {
+            if (mutation.removeLayer != NONE) {
+                gameObjects.removeGameObject(mutation.obj, mutation.removeLayer);
+            }
+        }
+        batch.sort(BY_ADD_LAYER);
+        for (Mutation mutation : batch) {
+            if (mutation.addLayer != NONE) {
+                gameObjects.addGameObject(mutation.obj, mutation.addLayer);
+            }
+            mutation.obj = null;
+            spare.addLast(mutation);
+        }
+        batch.clear();
+    }
+
+    /**
+     * Getter for the number of objects with pending requests
+     *
+     * @return number of pending objects
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    private Mutation obtain(GameObject obj) {
+        Mutation mutation = spare.pollLast();
+        if (mutation == null) {
+            mutation = new Mutation();
+        }
+        mutation.obj = obj;
+        mutation.removeLayer = NONE;
+        mutation.addLayer = NONE;
+        pending.put(obj, mutation);
+        return mutation;
+    }
+
+    private void release(Mutation mutation) {
+        pending.remove(mutation.obj);
+        mutation.obj = null;
+        spare.addLast(mutation);
+    }
+
+    private static class Mutation {
+        private GameObject obj;
+        private int removeLayer;
+        private int addLayer;
+    }
+}
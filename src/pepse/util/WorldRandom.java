@@ -0,0 +1,70 @@
+package pepse.util;
+
+/**
+ * A stateless source of random numbers for world generation.
+ * Every value is a hash of the world's seed, a position and a salt naming the decision being
+ * made, so the same decision at the same position always gets the same value, in any order and
+ * on any thread, without re-seeding or allocating anything.
+ * Uses the SplitMix64 finalizer as the hash.
+ */
+public class WorldRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long SALT_GAMMA = 0xD1B54A32D192ED03L;
+    private final long seed;
+
+    /**
+     * Constructor
+     *
+     * @param seed seed of the world
+     */
+    public WorldRandom(long seed) {
+        this.seed = mix(seed * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns a random int for a given position and decision
+     *
+     * @param x     position the decision is made at
+     * @param salt  identifies the decision, so different decisions at one position are unrelated
+     * @param bound upper bound (exclusive), must be positive
+     * @return an int between 0 (inclusive) and bound (exclusive)
+     */
+    public int nextInt(int x, int salt, int bound) {
+        long bits = hash(x, salt) >>> 32;
+        return (int) ((bits * bound) >>> 32);
+    }
+
+    /**
+     * Returns a random float for a given position and decision
+     *
+     * @param x    position the decision is made at
+     * @param salt identifies the decision, so different decisions at one position are unrelated
+     * @return a float between 0 (inclusive) and 1 (exclusive)
+     */
+    public float nextFloat(int x, int salt) {
+        return (hash(x, salt) >>> 40) * 0x1.0p-24f;
+    }
+
+    /**
+     * Returns 64 random bits for a given position and decision
+     *
+     * @param x    position the decision is made at
+     * @param salt identifies the decision, so different decisions at one position are unrelated
+     * @return the hash of the seed, position and salt
+     */
+    public long hash(int x, int salt) {
+        return mix(seed + x * GOLDEN_GAMMA + salt * SALT_GAMMA);
+    }
+
+    /**
+     * Scrambles the bits of a value
+     *
+     * @param z value to scramble
+     * @return the SplitMix64 finalizer of z
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,134 +1,78 @@
 package pepse.world;
 
-import pepse.util.BirdStrategy;
+import pepse.util.SleepCounter;
+import pepse.util.Sleepable;
 import pepse.util.Strategy;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
-import java.util.Random;
-import java.util.function.Function;
-
 /**
- * A class representing a bird in game
+ * A class representing a bird in game.
+ * Birds are pooled by their BirdSpawner, and are reset every time they are spawned again.
+ * A bird that landed falls asleep until the avatar comes close.
  */
-public class Bird extends GameObject {
-    private static final String LEFT = "left";
-    private static final String RIGHT = "right";
+public class Bird extends GameObject implements Sleepable {
     private static final int SWITCH_WINGS_TIME = 6;
-    private int layer;
-    private int lastImg = 0;
+    private static final int MAX_FALL_VELOCITY = 400;
+    private static final int FRAMES_TO_SLEEP = 30;
+
+    /**
+     * The direction a bird flies in
+     */
+    public enum Direction {
+        LEFT, RIGHT
+    }
+
+    private final BirdSpawner spawner;
     private final Renderable[] renderable;
-    private final GameObjectCollection gameObjects;
-    private final Vector2 velocity;
-    private final Function<String, Float> birdFlightLocation;
-    private final Random rand;
-    private final int minHeight;
-    private final int maxHeight;
     private final Vector2 dimmensions;
-    private final int cycle;
+    private final SleepCounter sleep = new SleepCounter(FRAMES_TO_SLEEP);
+    private int lastImg = 0;
     private int time;
-    private String direction;
-    private Strategy strategy;
     private int gotHit = 0;
-    private static final String SMALLER = "smaller";
-    private static final String BIGGER = "bigger";
-
+    private int spawnCount;
+    private boolean resting;
+    private Strategy strategy;
 
     /**
      * Constructor
      *
-     * @param gameObjects   game object collection
-     * @param dimmensions   bird dimensions
-     * @param renderable    renderable for the bird
-     * @param birdFlightLocation function for determining which side the bird flies to
-     * @param minHeight     min bird height
-     * @param maxHeight     max bird height
-     * @param cycle         amount of time the bird lives
-     * @param velocity      bird's velocity
-     * @param topLeftCorner bird's top left corner on screen
-     * @param strategy      bird strategy
+     * @param spawner     spawner the bird belongs to
+     * @param dimmensions bird dimensions
+     * @param renderable  renderables for the bird's wing positions
      */
-    public Bird(GameObjectCollection gameObjects, Vector2 dimmensions,
-                Renderable[] renderable, Function<String, Float> birdFlightLocation,
-                int minHeight, int maxHeight, int cycle, Vector2 velocity, Vector2 topLeftCorner,
-                Strategy strategy){
-        super(topLeftCorner, dimmensions, renderable[0]);
+    public Bird(BirdSpawner spawner, Vector2 dimmensions, Renderable[] renderable) {
+        super(Vector2.ZERO, dimmensions, renderable[0]);
+        this.spawner = spawner;
         this.renderable = renderable;
-        this.gameObjects = gameObjects;
-        this.velocity = velocity;
-        this.birdFlightLocation = birdFlightLocation;
-        this.rand = new Random();
-        this.minHeight = minHeight;
-        this.maxHeight = maxHeight;
         this.dimmensions = dimmensions;
-        this.cycle = cycle;
-        this.direction = "";
-        this.setVelocity(velocity);
-        this.strategy = strategy;
     }
 
     /**
-     * Constructor
+     * Prepares the bird for a new flight
      *
-     * @param gameObjects   game object collection
-     * @param dimmensions   bird dimensions
-     * @param renderable    renderable for the bird
-     * @param whichSideFunc function for determining which side the bird flies to
-     * @param minHeight     min bird height
-     * @param maxHeight     max bird height
-     * @param cycle         amount of time the bird lives
-     * @param velocity      bird's velocity
+     * @param direction     direction the bird flies in
      * @param topLeftCorner bird's top left corner on screen
+     * @param velocity      bird's velocity
      * @param strategy      bird strategy
-     * @param layer         layer to add the bird to
      */
-    public Bird(GameObjectCollection gameObjects, Vector2 dimmensions,
-                Renderable[] renderable, Function<String, Float> whichSideFunc,
-                int minHeight, int maxHeight, int cycle, Vector2 velocity, Vector2 topLeftCorner,
-                Strategy strategy, int layer) {
-        super(topLeftCorner, dimmensions, renderable[0]);
-        this.renderable = renderable;
-        this.gameObjects = gameObjects;
-        this.velocity = velocity;
-        this.birdFlightLocation = whichSideFunc;
-        this.rand = new Random();
-        this.minHeight = minHeight - maxHeight;
-        this.maxHeight = maxHeight;
-        this.dimmensions = dimmensions;
-        this.cycle = cycle;
-        this.direction = "";
-        this.setVelocity(velocity);
+    public void reset(Direction direction, Vector2 topLeftCorner, Vector2 velocity,
+                      Strategy strategy) {
         this.strategy = strategy;
-        this.layer = layer;
-    }
-
-    /**
-     * Creates a bird object
-     */
-    public void create() {
-        int height = (rand.nextInt(minHeight)) + maxHeight;
-        int randChoise = rand.nextInt(2);
-        String[] choises = {LEFT, "right"};
-        Vector2 newVelocity = velocity;
-
-        float width = birdFlightLocation.apply(LEFT);
-
-        if (choises[randChoise].equals(LEFT)) {
-            renderer().setIsFlippedHorizontally(true);
-            newVelocity = velocity.multX(-1);
-            width = birdFlightLocation.apply(RIGHT);
-        }
-
-        Vector2 location = new Vector2(width, height);
-        strategy = new BirdStrategy();
-        Bird obj = new Bird(gameObjects, dimmensions, renderable,
-                birdFlightLocation, minHeight, maxHeight, cycle, newVelocity, location, strategy, layer);
-        obj.setDirection(choises[randChoise]);
-        gameObjects.addGameObject(obj, layer);
-
+        this.lastImg = 0;
+        this.time = 0;
+        this.gotHit = 0;
+        this.resting = false;
+        sleep.wake();
+        this.spawnCount++;
+        setTopLeftCorner(topLeftCorner);
+        setDimensions(dimmensions);
+        setVelocity(velocity);
+        transform().setAccelerationY(0);
+        renderer().setRenderable(renderable[0]);
+        renderer().setIsFlippedHorizontally(direction == Direction.LEFT);
     }
 
     /**
@@ -141,23 +85,29 @@ public class Bird extends GameObject {
      */
     @Override
     public void update(float deltaTime) {
-        if(this.getCenter().x() >  birdFlightLocation.apply(RIGHT) + 5 * Block.SIZE||
-                this.getCenter().x() < birdFlightLocation.apply(LEFT) - 5 * Block.SIZE){
-            gameObjects.removeGameObject(this, layer);
+        if (sleep.isAsleep()) {
+            return;
         }
         super.update(deltaTime);
-        if (direction.equals(LEFT)) {
-            renderer().setIsFlippedHorizontally(true);
-        }
 
         time++;
         if (time % SWITCH_WINGS_TIME == 0 && gotHit < 1) {
             flipImg();
         }
 
-        if (getVelocity().y() > 400) {
+        if (getVelocity().y() > MAX_FALL_VELOCITY) {
             transform().setAccelerationY(0);
         }
+        sleep.update(resting);
+    }
+
+    /**
+     * @param other The other GameObject.
+     * @return false while the bird is asleep
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return !sleep.isAsleep() && super.shouldCollideWith(other);
     }
 
     private void flipImg() {
@@ -177,13 +127,64 @@ public class Bird extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
+        onContact(other);
+    }
+
+    /**
+     * Lets the bird's strategy react to a contact with another object
+     *
+     * @param other the object the bird touched
+     */
+    public void onContact(GameObject other) {
+        sleep.wake();
         if (strategy != null) {
             strategy.onCollision(this, other);
         }
-        if (other instanceof Block) {
-            this.setVelocity(Vector2.ZERO);
-            this.transform().setAccelerationY(0);
-        }
+    }
+
+    /**
+     * Stops the bird when it touches the terrain, it rests there until it is removed
+     */
+    public void land() {
+        this.setVelocity(Vector2.ZERO);
+        this.transform().setAccelerationY(0);
+        this.resting = true;
+    }
+
+    /**
+     * Makes the bird fall until it lands on the terrain again, even if it already landed
+     *
+     * @param gravity downwards acceleration of the bird
+     */
+    public void fall(float gravity) {
+        this.resting = false;
+        sleep.wake();
+        this.setVelocity(Vector2.ZERO);
+        this.transform().setAccelerationY(gravity);
+        spawner.startFalling(this);
+    }
+
+    /**
+     * Checks whether the bird is asleep
+     *
+     * @return true if the bird is asleep
+     */
+    public boolean isAsleep() {
+        return sleep.isAsleep();
+    }
+
+    /**
+     * Wakes the bird up
+     */
+    public void wake() {
+        sleep.wake();
+    }
+
+    /**
+     * Removes the bird from the game, and hands it back to its spawner
+     */
+    public void remove() {
+        spawner.despawn(this);
     }
 
     /**
@@ -200,8 +201,13 @@ public class Bird extends GameObject {
         return gotHit;
     }
 
-    private void setDirection(String direction) {
-        this.direction = direction;
+    /**
+     * Getter for the number of times the bird was spawned, so delayed actions can tell whether
+     * the bird was reused since they were scheduled
+     *
+     * @return number of spawns
+     */
+    public int getSpawnCount() {
+        return spawnCount;
     }
-
 }
@@ -0,0 +1,159 @@
+package pepse.world;
+
+import pepse.util.ObjectPool;
+import pepse.util.Strategy;
+import pepse.util.ViewportSnapshot;
+import pepse.util.WorldMutationQueue;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Spawns birds of one kind at the edges of the view, and removes them once they leave it.
+ * Birds are taken from a pool and handed back to it when they are removed. Birds appear at the
+ * load margin of the frame's ViewportSnapshot and are removed beyond its unload margin, so they
+ * never check their position themselves.
+ */
+public class BirdSpawner {
+    private static final int POOL_CAPACITY = 16;
+    private final WorldMutationQueue mutationQueue;
+    private final HeightmapCollider collider;
+    private final EntityGrid entityGrid;
+    private final Vector2 velocity;
+    private final Vector2 reversedVelocity;
+    private final Strategy strategy;
+    private final int heightRange;
+    private final int maxHeight;
+    private final int layer;
+    private final ObjectPool<Bird> pool;
+    private final ArrayList<Bird> activeBirds;
+    private final Random rand;
+    private float viewLeft;
+    private float viewRight;
+
+    /**
+     * Constructor
+     *
+     * @param mutationQueue queue for adding and removing game objects
+     * @param collider      collider resolving the birds' contact with the terrain
+     * @param entityGrid    grid resolving the birds' contact with the avatar
+     * @param dimensions    bird dimensions
+     * @param renderable    renderables for the birds' wing positions
+     * @param minHeight     min bird height
+     * @param maxHeight     max bird height
+     * @param velocity      velocity of a bird flying right
+     * @param strategy      strategy shared by all the birds
+     * @param layer         layer to add the birds to
+     */
+    public BirdSpawner(WorldMutationQueue mutationQueue, HeightmapCollider collider,
+                       EntityGrid entityGrid, Vector2 dimensions, Renderable[] renderable,
+                       int minHeight, int maxHeight, Vector2 velocity, Strategy strategy,
+                       int layer) {
+        this.mutationQueue = mutationQueue;
+        this.collider = collider;
+        this.entityGrid = entityGrid;
+        this.velocity = velocity;
+        this.reversedVelocity = velocity.multX(-1);
+        this.strategy = strategy;
+        this.heightRange = minHeight - maxHeight;
+        this.maxHeight = maxHeight;
+        this.layer = layer;
+        this.pool = new ObjectPool<>(() -> new Bird(this, dimensions, renderable), POOL_CAPACITY);
+        this.activeBirds = new ArrayList<>();
+        this.rand = new Random();
+    }
+
+    /**
+     * Sets the horizontal bounds of the view for the current frame, and removes the birds that
+     * flew out of it
+     *
+     * @param viewport the current frame's view
+     */
+    public void update(ViewportSnapshot viewport) {
+        this.viewLeft = viewport.getLoadLeft();
+        this.viewRight = viewport.getLoadRight();
+        float unloadLeft = viewport.getUnloadLeft();
+        float unloadRight = viewport.getUnloadRight();
+        for (int i = activeBirds.size() - 1; i >= 0; i--) {
+            Bird bird = activeBirds.get(i);
+            float x = bird.getCenter().x();
+            if (x > unloadRight || x < unloadLeft) {
+                despawn(bird);
+            }
+        }
+    }
+
+    /**
+     * Spawns a bird at one of the view's edges, flying towards the other edge
+     */
+    public void spawn() {
+        int height = rand.nextInt(heightRange) + maxHeight;
+        Bird.Direction direction = rand.nextBoolean() ? Bird.Direction.LEFT : Bird.Direction.RIGHT;
+        Bird bird = pool.acquire();
+        if (direction == Bird.Direction.LEFT) {
+            bird.reset(direction, new Vector2(viewRight, height), reversedVelocity, strategy);
+        } else {
+            bird.reset(direction, new Vector2(viewLeft, height), velocity, strategy);
+        }
+        activeBirds.add(bird);
+        mutationQueue.add(bird, layer);
+        if (collider != null) {
+            collider.registerFalling(bird, bird::land);
+        }
+        entityGrid.add(bird, bird::onContact);
+    }
+
+    /**
+     * Resolves a bird's contact with the terrain again until it lands, after it started falling
+     *
+     * @param bird bird that started falling
+     */
+    public void startFalling(Bird bird) {
+        if (collider != null) {
+            collider.unregister(bird);
+            collider.registerFalling(bird, bird::land);
+        }
+    }
+
+    /**
+     * Removes a bird from the game and returns it to the pool
+     *
+     * @param bird bird to remove
+     */
+    public void despawn(Bird bird) {
+        int index = activeBirds.indexOf(bird);
+        if (index < 0) {
+            return;
+        }
+        Bird last = activeBirds.remove(activeBirds.size() - 1);
+        if (index < activeBirds.size()) {
+            activeBirds.set(index, last);
+        }
+        mutationQueue.remove(bird, layer);
+        if (collider != null) {
+            collider.unregister(bird);
+        }
+        entityGrid.remove(bird);
+        pool.release(bird);
+    }
+
+    /**
+     * Getter for the number of birds currently in the game
+     *
+     * @return number of active birds
+     */
+    public int getActiveCount() {
+        return activeBirds.size();
+    }
+
+    /**
+     * Getter for the pool of birds
+     *
+     * @return the bird pool
+     */
+    public ObjectPool<Bird> getPool() {
+        return pool;
+    }
+}
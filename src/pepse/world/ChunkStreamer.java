@@ -0,0 +1,165 @@
+package pepse.world;
+
+import pepse.util.ChunkGenerator;
+import pepse.util.Generatable;
+import pepse.util.ViewportSnapshot;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Keeps the world chunks around the avatar loaded, and unloads chunks that are too far away.
+ */
+public class ChunkStreamer {
+    private final Generatable<?>[] generatables;
+    private final ChunkGenerator generator;
+    private final int requiredRadius;
+    private final int loadRadius;
+    private final int unloadRadius;
+    private final int loadsPerFrame;
+    private final float prefetchSeconds;
+    private final int maxPrefetchChunks;
+    private final HashMap<Integer, WorldChunk> chunks;
+    private int lastCenterChunk;
+    private int direction;
+    private int budget;
+    private boolean initialized;
+    private boolean pendingLoads;
+
+    /**
+     * Constructor
+     *
+     * @param generatables the objects that generate each chunk's content
+     * @param generator      generator to run the chunks' generation tasks on
+     * @param requiredRadius number of chunks on each side of the avatar's chunk that must be
+     *                       loaded before the frame is drawn
+     * @param loadRadius     number of chunks to keep loaded on each side of the avatar's chunk,
+     *                       must not be smaller than requiredRadius
+     * @param unloadRadius   chunks further than this from the avatar's chunk are unloaded,
+     *                       must not be smaller than loadRadius
+     * @param loadsPerFrame  max number of chunks outside the required radius loaded or
+     *                       prefetched per frame
+     * @param prefetchSeconds   how far ahead of the avatar to prefetch, in seconds of movement
+     * @param maxPrefetchChunks max number of chunks prefetched beyond the unload radius
+     */
+    public ChunkStreamer(Generatable<?>[] generatables, ChunkGenerator generator,
+                         int requiredRadius, int loadRadius, int unloadRadius, int loadsPerFrame,
+                         float prefetchSeconds, int maxPrefetchChunks) {
+        if (loadRadius < requiredRadius) {
+            throw new IllegalArgumentException("loadRadius must be at least requiredRadius");
+        }
+        if (unloadRadius < loadRadius) {
+            throw new IllegalArgumentException("unloadRadius must be at least loadRadius");
+        }
+        this.generatables = generatables;
+        this.generator = generator;
+        this.requiredRadius = requiredRadius;
+        this.loadRadius = loadRadius;
+        this.unloadRadius = unloadRadius;
+        this.loadsPerFrame = loadsPerFrame;
+        this.prefetchSeconds = prefetchSeconds;
+        this.maxPrefetchChunks = maxPrefetchChunks;
+        this.chunks = new HashMap<>();
+    }
+
+    /**
+     * Loads, prefetches and unloads chunks according to the avatar's location and velocity.
+     * Chunks are only unloaded when the avatar crosses a chunk boundary, and the whole
+     * displacement is handled at once, however many chunks the avatar crossed in a single frame.
+     * Chunks in the required radius are loaded immediately, and chunks up to the unload radius
+     * are generated in the background, so their data is ready by the time they are loaded.
+     *
+     * @param viewport the current frame's view
+     */
+    public void update(ViewportSnapshot viewport) {
+        float velocityX = viewport.getVelocityX();
+        int centerChunk = WorldChunk.indexOf(viewport.getAvatarX());
+        direction = (int) Math.signum(velocityX);
+        if (!initialized || centerChunk != lastCenterChunk) {
+            initialized = true;
+            lastCenterChunk = centerChunk;
+            moveCenter(centerChunk);
+            pendingLoads = true;
+        }
+        budget = loadsPerFrame;
+        if (pendingLoads) {
+            pendingLoads = !loadWithinBudget(centerChunk);
+        }
+        if (direction != 0) {
+            prefetch(centerChunk, velocityX);
+        }
+    }
+
+    private void moveCenter(int centerChunk) {
+        Iterator<WorldChunk> iterator = chunks.values().iterator();
+        while (iterator.hasNext()) {
+            WorldChunk chunk = iterator.next();
+            if (!shouldKeep(chunk.getIndex() - centerChunk)) {
+                chunk.unload();
+                iterator.remove();
+            }
+        }
+
+        for (int i = centerChunk - unloadRadius; i <= centerChunk + unloadRadius; i++) {
+            if (!chunks.containsKey(i)) {
+                WorldChunk chunk = new WorldChunk(i, generatables);
+                chunk.generate(generator);
+                chunks.put(i, chunk);
+            }
+        }
+
+        for (int i = centerChunk - requiredRadius; i <= centerChunk + requiredRadius; i++) {
+            WorldChunk chunk = chunks.get(i);
+            if (!chunk.isLoaded()) {
+                chunk.load();
+            }
+        }
+    }
+
+    // Chunks ahead of the avatar are kept a bit longer, since they may have been prefetched
+    private boolean shouldKeep(int offset) {
+        int distance = Math.abs(offset);
+        if (distance <= unloadRadius) {
+            return true;
+        }
+        return Integer.signum(offset) == direction && distance <= unloadRadius + maxPrefetchChunks;
+    }
+
+    // Loads the chunks between the required and load radii, nearest first, a few per frame so a
+    // fast avatar does not cause a frame spike. Returns true if every chunk in the radius is loaded
+    private boolean loadWithinBudget(int centerChunk) {
+        for (int distance = requiredRadius + 1; distance <= loadRadius; distance++) {
+            for (int side = 1; side >= -1; side -= 2) {
+                WorldChunk chunk = chunks.get(centerChunk + side * distance);
+                if (!chunk.isLoaded()) {
+                    if (budget == 0) {
+                        return false;
+                    }
+                    chunk.load();
+                    budget--;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Generates chunks ahead of the moving avatar beyond the unload radius, according to its
+    // velocity, and builds them without adding them to the game using the budget left over from
+    // loading, so crossing into them only attaches objects that already exist
+    private void prefetch(int centerChunk, float velocityX) {
+        int lookahead = (int) Math.ceil(Math.abs(velocityX) * prefetchSeconds / WorldChunk.WIDTH);
+        int maxDistance = unloadRadius + Math.min(lookahead, maxPrefetchChunks);
+        for (int distance = loadRadius + 1; distance <= maxDistance; distance++) {
+            int index = centerChunk + direction * distance;
+            WorldChunk chunk = chunks.get(index);
+            if (chunk == null) {
+                chunk = new WorldChunk(index, generatables);
+                chunk.generate(generator);
+                chunks.put(index, chunk);
+            } else if (budget > 0 && !chunk.isBuilt() && chunk.isGenerated()) {
+                chunk.build();
+                budget--;
+            }
+        }
+    }
+}
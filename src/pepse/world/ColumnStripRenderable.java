@@ -0,0 +1,90 @@
+package pepse.world;
+
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+
+/**
+ * Renders a vertical strip of equally tall, differently colored segments, so a whole column
+ * of blocks can be drawn by a single game object.
+ * The strip is always drawn upright, rotation and flipping are ignored.
+ * Only the top segments may be used, so strips of different lengths can share one renderable type.
+ */
+public class ColumnStripRenderable implements Renderable {
+    private final Color[] colors;
+    private int segmentCount;
+
+    /**
+     * Constructor
+     *
+     * @param colors colors of the strip's segments, from top to bottom
+     */
+    public ColumnStripRenderable(Color[] colors) {
+        this.colors = colors;
+        this.segmentCount = colors.length;
+    }
+
+    /**
+     * Getter for the number of segments in the strip
+     *
+     * @return number of segments
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Sets the number of segments in the strip, only the top segments are drawn
+     *
+     * @param segmentCount number of segments, at most the number of colors the strip was
+     *                     created with
+     */
+    public void setSegmentCount(int segmentCount) {
+        if (segmentCount < 1 || segmentCount > colors.length) {
+            throw new IllegalArgumentException("segmentCount must be between 1 and " + colors.length);
+        }
+        this.segmentCount = segmentCount;
+    }
+
+    /**
+     * Sets the color of one of the strip's segments
+     *
+     * @param segment index of the segment, 0 is the top one
+     * @param color   new color of the segment
+     */
+    public void setColor(int segment, Color color) {
+        colors[segment] = color;
+    }
+
+    /**
+     * Draws the strip's segments
+     *
+     * @param g                       graphics to draw with
+     * @param topLeftCorner           top left corner of the strip on screen
+     * @param dimensions              dimensions of the whole strip
+     * @param degreesCounterClockwise ignored
+     * @param isFlippedHorizontally   ignored
+     * @param isFlippedVertically     ignored
+     * @param opacity                 opacity of the strip
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opacity) {
+        Composite oldComposite = g.getComposite();
+        if (opacity < 1) {
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) opacity));
+        }
+        int left = Math.round(topLeftCorner.x());
+        int width = Math.round(topLeftCorner.x() + dimensions.x()) - left;
+        float segmentHeight = dimensions.y() / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            int top = Math.round(topLeftCorner.y() + i * segmentHeight);
+            int bottom = Math.round(topLeftCorner.y() + (i + 1) * segmentHeight);
+            g.setColor(colors[i]);
+            g.fillRect(left, top, width, bottom - top);
+        }
+        g.setComposite(oldComposite);
+    }
+}
@@ -0,0 +1,257 @@
+package pepse.world;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A uniform grid of the moving objects in the world, such as birds and the chickens they turn
+ * into, with one bucket per terrain column.
+ * Objects are kept in the bucket of the column their center is in, and are moved between buckets
+ * once per frame as they move, so finding the objects near the avatar or in a range of columns
+ * only looks at a few buckets, instead of at every object in a layer.
+ * Buckets are linked lists in a ring of slots indexed by the primitive column, like the heights
+ * cached by HeightmapCollider, and queries reuse the same lists, so nothing is allocated per frame.
+ * Objects may register a contact listener, which is called when they start touching the avatar.
+ */
+public class EntityGrid {
+    private static final int SLOT_COUNT = 1024;
+    private final int reach;
+    private final Entry[] slots;
+    private final ArrayList<Entry> all;
+    private final IdentityHashMap<GameObject, Entry> entries;
+    private final ArrayList<Entry> found;
+    private final ArrayList<GameObject> visiting;
+    private boolean querying;
+    private int frame;
+
+    /**
+     * Constructor
+     *
+     * @param maxWidth max width of an object in the grid, objects this wide are still found by
+     *                 queries that only overlap their edge
+     */
+    public EntityGrid(float maxWidth) {
+        this.reach = (int) Math.ceil(maxWidth / 2 / Block.SIZE);
+        this.slots = new Entry[SLOT_COUNT];
+        this.all = new ArrayList<>();
+        this.entries = new IdentityHashMap<>();
+        this.found = new ArrayList<>();
+        this.visiting = new ArrayList<>();
+    }
+
+    /**
+     * Adds an object to the grid
+     *
+     * @param object    object to add
+     * @param onContact called with the avatar when the object starts touching it, may be null
+     */
+    public void add(GameObject object, Consumer<GameObject> onContact) {
+        if (entries.containsKey(object)) {
+            return;
+        }
+        Entry entry = new Entry(object, onContact, columnOf(object));
+        entries.put(object, entry);
+        entry.index = all.size();
+        all.add(entry);
+        link(entry);
+    }
+
+    /**
+     * Removes an object from the grid
+     *
+     * @param object object to remove
+     */
+    public void remove(GameObject object) {
+        Entry entry = entries.remove(object);
+        if (entry == null) {
+            return;
+        }
+        unlink(entry);
+        Entry last = all.remove(all.size() - 1);
+        if (last != entry) {
+            last.index = entry.index;
+            all.set(entry.index, last);
+        }
+        entry.removed = true;
+    }
+
+    /**
+     * Moves the objects that crossed into another column to that column's bucket.
+     * Should be called once per frame, after the objects moved.
+     */
+    public void update() {
+        for (int i = 0; i < all.size(); i++) {
+            Entry entry = all.get(i);
+            int column = columnOf(entry.object);
+            if (column != entry.column) {
+                unlink(entry);
+                entry.column = column;
+                link(entry);
+            }
+        }
+    }
+
+    /**
+     * Calls the contact listeners of the objects that started touching the avatar this frame
+     *
+     * @param avatar the avatar
+     */
+    public void resolveContacts(GameObject avatar) {
+        startQuery();
+        frame++;
+        Vector2 topLeft = avatar.getTopLeftCorner();
+        Vector2 dimensions = avatar.getDimensions();
+        collect(topLeft.x(), topLeft.y(), topLeft.x() + dimensions.x(),
+                topLeft.y() + dimensions.y());
+        try {
+            for (int i = 0; i < found.size(); i++) {
+                Entry entry = found.get(i);
+                boolean touching = entry.lastContactFrame == frame - 1;
+                entry.lastContactFrame = frame;
+                // A listener may remove objects from the grid, so removed objects are skipped
+                if (!touching && entry.onContact != null && !entry.removed) {
+                    entry.onContact.accept(avatar);
+                }
+            }
+        } finally {
+            found.clear();
+            querying = false;
+        }
+    }
+
+    /**
+     * Calls an action on every object whose bounds overlap a horizontal range
+     *
+     * @param minX   start of range
+     * @param maxX   end of range
+     * @param action action to call, may add and remove objects, but not query the grid
+     */
+    public void forEachInRange(float minX, float maxX, Consumer<GameObject> action) {
+        startQuery();
+        collect(minX, Float.NEGATIVE_INFINITY, maxX, Float.POSITIVE_INFINITY);
+        forEachFound(action);
+    }
+
+    /**
+     * Calls an action on every object whose bounds are within a distance of another object's
+     * bounds
+     *
+     * @param target   object to search around
+     * @param distance max distance from the target's bounds
+     * @param action   action to call, may add and remove objects, but not query the grid
+     */
+    public void forEachNear(GameObject target, float distance, Consumer<GameObject> action) {
+        startQuery();
+        Vector2 topLeft = target.getTopLeftCorner();
+        Vector2 dimensions = target.getDimensions();
+        collect(topLeft.x() - distance, topLeft.y() - distance,
+                topLeft.x() + dimensions.x() + distance, topLeft.y() + dimensions.y() + distance);
+        forEachFound(action);
+    }
+
+    /**
+     * Getter for the number of objects in the grid
+     *
+     * @return number of objects
+     */
+    public int size() {
+        return all.size();
+    }
+
+    // The scratch lists are shared by all the queries, so queries may not run inside each other
+    private void startQuery() {
+        if (querying) {
+            throw new IllegalStateException("the grid may not be queried during a query");
+        }
+        querying = true;
+    }
+
+    // Actions may add and remove objects, so the results are copied before they are called
+    private void forEachFound(Consumer<GameObject> action) {
+        for (int i = 0; i < found.size(); i++) {
+            visiting.add(found.get(i).object);
+        }
+        found.clear();
+        try {
+            for (int i = 0; i < visiting.size(); i++) {
+                action.accept(visiting.get(i));
+            }
+        } finally {
+            visiting.clear();
+            querying = false;
+        }
+    }
+
+    private void collect(float left, float top, float right, float bottom) {
+        int firstColumn = Math.floorDiv((int) Math.floor(left), Block.SIZE) - reach;
+        int lastColumn = Math.floorDiv((int) Math.ceil(right) - 1, Block.SIZE) + reach;
+        // Every slot is visited once, even if the range is wider than the ring, and only the
+        // entries of the range's columns are kept
+        int lastSlotColumn = Math.min(lastColumn, firstColumn + SLOT_COUNT - 1);
+        for (int column = firstColumn; column <= lastSlotColumn; column++) {
+            for (Entry entry = slots[slotOf(column)]; entry != null; entry = entry.next) {
+                if (entry.column < firstColumn || entry.column > lastColumn) {
+                    continue;
+                }
+                Vector2 otherTopLeft = entry.object.getTopLeftCorner();
+                Vector2 otherDimensions = entry.object.getDimensions();
+                if (otherTopLeft.x() < right && otherTopLeft.x() + otherDimensions.x() > left &&
+                        otherTopLeft.y() < bottom && otherTopLeft.y() + otherDimensions.y() > top) {
+                    found.add(entry);
+                }
+            }
+        }
+    }
+
+    private void link(Entry entry) {
+        int slot = slotOf(entry.column);
+        entry.previous = null;
+        entry.next = slots[slot];
+        if (entry.next != null) {
+            entry.next.previous = entry;
+        }
+        slots[slot] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            slots[slotOf(entry.column)] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    private static int slotOf(int column) {
+        return column & (SLOT_COUNT - 1);
+    }
+
+    private static int columnOf(GameObject object) {
+        return Math.floorDiv((int) Math.floor(object.getCenter().x()), Block.SIZE);
+    }
+
+    private static class Entry {
+        private final GameObject object;
+        private final Consumer<GameObject> onContact;
+        private int column;
+        private int index;
+        private int lastContactFrame = -1;
+        private boolean removed;
+        private Entry previous;
+        private Entry next;
+
+        private Entry(GameObject object, Consumer<GameObject> onContact, int column) {
+            this.object = object;
+            this.onContact = onContact;
+            this.column = column;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package pepse.world;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Resolves contact between moving objects and the terrain using the cached heights of the
+ * terrain columns, instead of colliding the objects with every terrain block.
+ * Objects landing on a column are placed on top of it, and objects walking into a column
+ * that is higher than their feet are pushed back, just like colliding with its blocks.
+ * Falling objects, such as birds and chickens, are only resolved until they land: they are then
+ * placed on the ground, stopped, and no longer checked every frame.
+ */
+public class HeightmapCollider {
+    private static final int COLUMN_CAPACITY = 1024;
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final float STEP_TOLERANCE = 1f;
+    private final Function<Float, Float> groundHeightAt;
+    private final int[] cachedColumns;
+    private final float[] cachedHeights;
+    private final ArrayList<Body> bodies;
+    private final ArrayList<Body> contacts;
+
+    /**
+     * Constructor
+     *
+     * @param groundHeightAt a function for getting the y-value of the ground at a given x-value,
+     *                       used for columns that are not cached
+     */
+    public HeightmapCollider(Function<Float, Float> groundHeightAt) {
+        this.groundHeightAt = groundHeightAt;
+        this.cachedColumns = new int[COLUMN_CAPACITY];
+        this.cachedHeights = new float[COLUMN_CAPACITY];
+        this.bodies = new ArrayList<>();
+        this.contacts = new ArrayList<>();
+        Arrays.fill(cachedColumns, EMPTY);
+    }
+
+    /**
+     * Caches the ground heights of consecutive columns
+     *
+     * @param minX    x-value of the first column
+     * @param heights ground heights of the columns
+     */
+    public void cacheColumns(int minX, float[] heights) {
+        int firstColumn = Math.floorDiv(minX, Block.SIZE);
+        for (int i = 0; i < heights.length; i++) {
+            int slot = slotOf(firstColumn + i);
+            cachedColumns[slot] = firstColumn + i;
+            cachedHeights[slot] = heights[i];
+        }
+    }
+
+    /**
+     * Drops the cached heights of the columns in a given range, and stops resolving the
+     * objects that are above these columns
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     */
+    public void evictColumns(int minX, int maxX) {
+        int maxColumn = Math.floorDiv(maxX - 1, Block.SIZE);
+        for (int column = Math.floorDiv(minX, Block.SIZE); column <= maxColumn; column++) {
+            int slot = slotOf(column);
+            if (cachedColumns[slot] == column) {
+                cachedColumns[slot] = EMPTY;
+            }
+        }
+        bodies.removeIf(body -> {
+            float centerX = body.object.getCenter().x();
+            return centerX >= minX && centerX < maxX;
+        });
+    }
+
+    /**
+     * Returns the y value of the ground layer for a given x value
+     *
+     * @param x x-axis coordinate on the screen
+     * @return y value matching the given x value
+     */
+    public float groundHeightAt(float x) {
+        int column = Math.floorDiv((int) Math.floor(x), Block.SIZE);
+        int slot = slotOf(column);
+        if (cachedColumns[slot] == column) {
+            return cachedHeights[slot];
+        }
+        return groundHeightAt.apply((float) column * Block.SIZE);
+    }
+
+    /**
+     * Starts resolving an object's contact with the terrain
+     *
+     * @param object    object to resolve
+     * @param onContact called when the object touches the terrain after not touching it,
+     *                  may be null
+     */
+    public void register(GameObject object, Runnable onContact) {
+        bodies.add(new Body(object, onContact, false));
+    }
+
+    /**
+     * Starts resolving a falling object's contact with the terrain until it lands.
+     * Once it lands, the object is placed on the ground and stopped, and it is no longer resolved.
+     *
+     * @param object   object to resolve
+     * @param onLanded called when the object lands, may be null
+     */
+    public void registerFalling(GameObject object, Runnable onLanded) {
+        bodies.add(new Body(object, onLanded, true));
+    }
+
+    /**
+     * Stops resolving an object's contact with the terrain
+     *
+     * @param object object to stop resolving
+     */
+    public void unregister(GameObject object) {
+        bodies.removeIf(body -> body.object == object);
+    }
+
+    /**
+     * Resolves the contact of all the registered objects with the terrain.
+     * Should be called once per frame, after the objects moved.
+     */
+    public void update() {
+        boolean landed = false;
+        for (Body body : bodies) {
+            if (resolve(body)) {
+                contacts.add(body);
+                landed |= body.restOnContact;
+            }
+        }
+        if (landed) {
+            bodies.removeIf(body -> body.restOnContact && body.touching);
+        }
+        // Listeners may register and unregister objects, so they run after all the objects moved
+        for (Body body : contacts) {
+            if (body.restOnContact) {
+                body.object.setVelocity(Vector2.ZERO);
+                body.object.transform().setAccelerationY(0);
+            }
+            if (body.onContact != null) {
+                body.onContact.run();
+            }
+        }
+        contacts.clear();
+    }
+
+    // Returns true if the object started touching the terrain
+    private boolean resolve(Body body) {
+        GameObject object = body.object;
+        Vector2 topLeft = object.getTopLeftCorner();
+        Vector2 dimensions = object.getDimensions();
+        float left = topLeft.x();
+        float top = topLeft.y();
+        float width = dimensions.x();
+        float height = dimensions.y();
+        float center = left + width / 2;
+        boolean touching = false;
+
+        // Columns higher than the object's feet were in the last frame block it from the side
+        int firstColumn = Math.floorDiv((int) Math.floor(left), Block.SIZE);
+        int lastColumn = Math.floorDiv((int) Math.ceil(left + width) - 1, Block.SIZE);
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            float groundY = cachedHeightOf(column);
+            if (Float.isNaN(groundY)) {
+                return false;
+            }
+            if (groundY < body.lastBottom - STEP_TOLERANCE) {
+                float columnCenter = column * Block.SIZE + Block.SIZE / 2f;
+                if (columnCenter > center) {
+                    left = Math.min(left, column * Block.SIZE - width);
+                } else {
+                    left = Math.max(left, (column + 1) * Block.SIZE);
+                }
+                object.transform().setVelocityX(0);
+                touching = true;
+            }
+        }
+
+        float groundY = highestGroundUnder(left, width);
+        if (Float.isNaN(groundY)) {
+            return false;
+        }
+        if (top + height > groundY) {
+            top = groundY - height;
+            if (object.getVelocity().y() > 0) {
+                object.transform().setVelocityY(0);
+            }
+            touching = true;
+        }
+
+        if (left != topLeft.x() || top != topLeft.y()) {
+            object.setTopLeftCorner(new Vector2(left, top));
+        }
+        boolean started = touching && !body.touching;
+        body.touching = touching;
+        body.lastBottom = top + height;
+        return started;
+    }
+
+    private float highestGroundUnder(float left, float width) {
+        int firstColumn = Math.floorDiv((int) Math.floor(left), Block.SIZE);
+        int lastColumn = Math.floorDiv((int) Math.ceil(left + width) - 1, Block.SIZE);
+        float highest = Float.POSITIVE_INFINITY;
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            float groundY = cachedHeightOf(column);
+            if (Float.isNaN(groundY)) {
+                return Float.NaN;
+            }
+            highest = Math.min(highest, groundY);
+        }
+        return highest;
+    }
+
+    private float cachedHeightOf(int column) {
+        int slot = slotOf(column);
+        return cachedColumns[slot] == column ? cachedHeights[slot] : Float.NaN;
+    }
+
+    private static int slotOf(int column) {
+        return column & (COLUMN_CAPACITY - 1);
+    }
+
+    private static class Body {
+        private final GameObject object;
+        private final Runnable onContact;
+        private final boolean restOnContact;
+        private float lastBottom;
+        private boolean touching;
+
+        private Body(GameObject object, Runnable onContact, boolean restOnContact) {
+            this.object = object;
+            this.onContact = onContact;
+            this.restOnContact = restOnContact;
+            this.lastBottom = object.getTopLeftCorner().y() + object.getDimensions().y();
+        }
+    }
+}
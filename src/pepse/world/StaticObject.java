@@ -1,32 +1,43 @@
 package pepse.world;
 
-import pepse.util.Creatable;
+import pepse.util.CleanupScheduler;
+import pepse.util.Generatable;
+import pepse.util.LocationIndex;
+import pepse.util.ObjectPool;
+import pepse.util.WorldMutationQueue;
+import pepse.util.WorldRandom;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
-import java.util.Objects;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A class for creating static object in the game
  */
-public class StaticObject implements Creatable {
-    private final GameObjectCollection gameObjects;
-    private final int seed;
-    private final Random rand;
+public class StaticObject implements Generatable<List<StaticObject.Placement>> {
+    private static final int POOL_CAPACITY = 64;
+    private static final int PLACE_SALT = 1;
+    private static final int HEIGHT_SALT = 2;
+    private static final int PIC_SALT = 3;
+    private final WorldMutationQueue mutationQueue;
+    private final CleanupScheduler cleanup;
+    private final WorldRandom random;
     private final int minHeight;
     private final int maxHeight;
     private final Renderable[] renders;
     private final Vector2 dimensions;
     private final int probability;
     private final int cloudLayer;
+    private final ObjectPool<GameObject> pool;
+    private final LocationIndex locationIndex = new LocationIndex();
 
     /**
      * Constructor
      *
-     * @param gameObjects game object collection
+     * @param mutationQueue queue for adding and removing game objects
+     * @param cleanup     scheduler removing deleted objects from the game
      * @param seed        seed for the random object
      * @param minHeight   min height on screen for the static objects
      * @param maxHeight   max height on screen for the static objects
@@ -35,18 +46,29 @@ public class StaticObject implements Creatable {
      * @param dimensions  static object's dimension
      * @param cloudLayer       layer to add the object to
      */
-    public StaticObject(GameObjectCollection gameObjects, int seed, int minHeight, int maxHeight,
-                        int probability, Renderable[] renders, Vector2 dimensions, int cloudLayer) {
+    public StaticObject(WorldMutationQueue mutationQueue, CleanupScheduler cleanup, int seed,
+                        int minHeight, int maxHeight, int probability, Renderable[] renders,
+                        Vector2 dimensions, int cloudLayer) {
         super();
-        this.gameObjects = gameObjects;
+        this.mutationQueue = mutationQueue;
+        this.cleanup = cleanup;
         this.cloudLayer = cloudLayer;
-        this.seed = seed;
-        this.rand = new Random();
+        this.random = new WorldRandom(seed);
         this.minHeight = minHeight - maxHeight;
         this.maxHeight = maxHeight;
         this.renders = renders;
         this.dimensions = dimensions;
         this.probability = probability;
+        this.pool = new ObjectPool<>(() -> new GameObject(Vector2.ZERO, dimensions, null), POOL_CAPACITY);
+    }
+
+    /**
+     * Getter for the pool of static objects
+     *
+     * @return the static object pool
+     */
+    public ObjectPool<GameObject> getPool() {
+        return pool;
     }
 
     /**
@@ -56,33 +78,69 @@ public class StaticObject implements Creatable {
      * @param maxX end of range
      */
     public void delete(int minX, int maxX) {
-        int[] layers = {cloudLayer};
-        Creatable.deleteInRange(minX, maxX, layers, gameObjects);
+        locationIndex.deleteInRange(minX, maxX, cleanup, pool::release);
     }
 
     /**
-     * Creates static objects in a given range
+     * Computes the placement of the static objects in a given range
      *
      * @param minX start of range
      * @param maxX end of range
+     * @return the static objects in the range
      */
-    public void createInRange(int minX, int maxX) {
+    public List<Placement> generate(int minX, int maxX) {
+        List<Placement> placements = new ArrayList<>();
         for (int i = minX; i < maxX; i += Block.SIZE) {
-            rand.setSeed(Objects.hash(i, seed));
-            if (rand.nextInt(probability) == probability - 1) {
-                int height = (rand.nextInt(minHeight) + maxHeight);
-                Vector2 location = new Vector2(i, height);
-                Renderable img = chooseRandomPic();
-                GameObject obj = new GameObject(location, dimensions, img);
-                gameObjects.addGameObject(obj, cloudLayer);
-                Creatable.addToLocationMap(i, obj);
+            if (random.nextInt(i, PLACE_SALT, probability) == probability - 1) {
+                int height = (random.nextInt(i, HEIGHT_SALT, minHeight) + maxHeight);
+                placements.add(new Placement(i, height, chooseRandomPic(i)));
             }
         }
+        return placements;
+    }
+
+    /**
+     * Creates previously computed static objects, without adding them to the game
+     *
+     * @param placements the static objects to create
+     */
+    public void build(List<Placement> placements) {
+        for (Placement placement : placements) {
+            GameObject obj = pool.acquire();
+            obj.setTopLeftCorner(new Vector2(placement.x, placement.height));
+            obj.renderer().setRenderable(renders[placement.renderIndex]);
+            locationIndex.add(placement.x, obj, cloudLayer);
+        }
+    }
+
+    /**
+     * Adds the built static objects in a given range to the game
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     */
+    public void attach(int minX, int maxX) {
+        cleanup.finishInRange(minX, maxX);
+        locationIndex.attachInRange(minX, maxX, mutationQueue);
     }
 
-    private Renderable chooseRandomPic() {
-        int type = (rand.nextInt(renders.length));
-        return renders[type];
+    private int chooseRandomPic(int x) {
+        return random.nextInt(x, PIC_SALT, renders.length);
+    }
+
+    /**
+     * The placement of a single static object
+     */
+    public static class Placement {
+        private final int x;
+        private final int height;
+        private final int renderIndex;
+
+        private Placement(int x, int height, int renderIndex) {
+            this.x = x;
+            this.height = height;
+            this.renderIndex = renderIndex;
+        }
     }
 }
 
@@ -1,44 +1,96 @@
 package pepse.world;
 
-import pepse.PepseGameManager;
-import pepse.util.ColorSupplier;
 import pepse.util.*;
-import danogl.collisions.GameObjectCollection;
-import danogl.gui.rendering.RectangleRenderable;
+import danogl.GameObject;
 import danogl.util.Vector2;
 import java.awt.*;
 
 /**
  * A class for creating and maintaining blocks of terrain
  */
-public class Terrain implements Creatable{
+public class Terrain implements Generatable<Terrain.ColumnHeights> {
     private static final int TERRAIN_DEPTH = 28;
+    private static final int SURFACE_DEPTH = 2;
     private static final float groundHeightAsWindowPercentage = 2f / 3;
     private static final Color BASE_GROUND_COLOR = new Color(212, 123, 74);
+    private static final int PALETTE_SIZE = 16;
+    private static final ColorPalette GROUND_PALETTE = new ColorPalette(BASE_GROUND_COLOR, PALETTE_SIZE);
     private static final int VALUE_OFFSET = 300;
     private static final String SMALLER = "smaller";
     private static final String BIGGER = "bigger";
     private static final String TERRAIN_TAG = "terrain";
+    private static final int BLOCK_POOL_CAPACITY = 2048;
+    private static final int STRIP_POOL_CAPACITY = 512;
     private final int groundHeightAtX0;
-    private final GameObjectCollection gameObjects;
-    private final int seed;
+    private final WorldMutationQueue mutationQueue;
+    private final CleanupScheduler cleanup;
+    private final NoiseGenerator noiseGenerator;
+    private final HeightmapCollider collider;
     private final int groundLayer;
+    private final ObjectPool<Block> blockPool;
+    private final ObjectPool<GameObject> stripPool;
+    private final LocationIndex locationIndex = new LocationIndex();
+    private boolean collapseUnderground = true;
 
     /**
      * Constructor
      *
-     * @param gameObjects      collection of in-game objects
+     * @param mutationQueue    queue for adding and removing game objects
+     * @param cleanup          scheduler removing deleted blocks from the game
      * @param groundLayer      layer to add the terrain blocks to
      * @param windowDimensions window dimensions
      * @param seed             seed for the random function
      */
-    public Terrain(GameObjectCollection gameObjects, int groundLayer,
+    public Terrain(WorldMutationQueue mutationQueue, CleanupScheduler cleanup, int groundLayer,
                    Vector2 windowDimensions, int seed) {
-        this.gameObjects = gameObjects;
+        this.mutationQueue = mutationQueue;
+        this.cleanup = cleanup;
         float firstGroundHeight = windowDimensions.y() * groundHeightAsWindowPercentage;
         this.groundHeightAtX0 = (int) Math.floor(firstGroundHeight / Block.SIZE) * Block.SIZE;
-        this.seed = seed;
+        this.noiseGenerator = NoiseGenerator.forSeed(seed);
+        this.collider = new HeightmapCollider(this::groundHeightAt);
         this.groundLayer = groundLayer;
+        this.blockPool = new ObjectPool<>(() -> new Block(Vector2.ZERO, null), BLOCK_POOL_CAPACITY);
+        this.stripPool = new ObjectPool<>(() -> new GameObject(Vector2.ZERO,
+                new Vector2(Block.SIZE, (TERRAIN_DEPTH - SURFACE_DEPTH) * Block.SIZE),
+                new ColumnStripRenderable(new Color[TERRAIN_DEPTH - SURFACE_DEPTH])), STRIP_POOL_CAPACITY);
+    }
+
+    /**
+     * Sets whether the buried part of every column is created as a single strip object,
+     * instead of a block per row
+     *
+     * @param collapseUnderground true to create one strip per column
+     */
+    public void setCollapseUnderground(boolean collapseUnderground) {
+        this.collapseUnderground = collapseUnderground;
+    }
+
+    /**
+     * Getter for the pool of surface blocks
+     *
+     * @return the block pool
+     */
+    public ObjectPool<Block> getBlockPool() {
+        return blockPool;
+    }
+
+    /**
+     * Getter for the pool of underground strips
+     *
+     * @return the strip pool
+     */
+    public ObjectPool<GameObject> getStripPool() {
+        return stripPool;
+    }
+
+    /**
+     * Getter for the collider resolving contact with this terrain
+     *
+     * @return the terrain's heightmap collider
+     */
+    public HeightmapCollider getCollider() {
+        return collider;
     }
 
     /**
@@ -48,8 +100,36 @@ public class Terrain implements Creatable{
      * @return y value matching the given x value
      */
     public float groundHeightAt(float x) {
-        NoiseGenerator noiseGenerator = new NoiseGenerator(seed);
-        float value = (float) noiseGenerator.noise(x / Block.SIZE);
+        return toGroundHeight(noiseGenerator.noise(x / Block.SIZE));
+    }
+
+    /**
+     * Fills the y values of the ground layer for all the columns in a given range, in one batch.
+     * Gives the same values as calling groundHeightAt for every column.
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     * @param out  array to write the heights to, out[i] is the height of the i-th column
+     *             from the start of the range
+     */
+    public void groundHeightsInRange(int minX, int maxX, float[] out) {
+        int newMinX = Block.findClosest(SMALLER, minX);
+        int newMaxX = Block.findClosest(BIGGER, maxX);
+        int columns = (newMaxX - newMinX) / Block.SIZE;
+        double[] xs = new double[columns];
+        double[] noise = new double[columns];
+
+        for (int i = 0; i < columns; i++) {
+            xs[i] = (float) (newMinX + i * Block.SIZE) / Block.SIZE;
+        }
+        noiseGenerator.noise(xs, noise);
+        for (int i = 0; i < columns; i++) {
+            out[i] = toGroundHeight(noise[i]);
+        }
+    }
+
+    private float toGroundHeight(double noise) {
+        float value = (float) noise;
         value = groundHeightAtX0 + VALUE_OFFSET * value;
         value = (int) Math.floor(value / Block.SIZE) * Block.SIZE;
         return value;
@@ -62,41 +142,93 @@ public class Terrain implements Creatable{
      * @param maxX end of range
      */
     public void delete(int minX, int maxX) {
-        int[] layers = {groundLayer, groundLayer + 1};
-        Creatable.deleteInRange(minX, maxX, layers, gameObjects);
+        locationIndex.deleteInRange(minX, maxX, cleanup, this::recycle);
+        collider.evictColumns(minX, maxX);
     }
 
     /**
-     * Creates blocks in a given range
+     * Computes the ground heights of the columns in a given range
      *
      * @param minX start of range
      * @param maxX end of range
+     * @return the ground heights of the columns in the range
      */
-    public void createInRange(int minX, int maxX) {
+    public ColumnHeights generate(int minX, int maxX) {
         int newMinX = Block.findClosest(SMALLER, minX);
         int newMaxX = Block.findClosest(BIGGER, maxX);
+        float[] heights = new float[(newMaxX - newMinX) / Block.SIZE];
+        groundHeightsInRange(newMinX, newMaxX, heights);
+        return new ColumnHeights(newMinX, heights);
+    }
 
-        for (int i = newMinX; i < newMaxX; i += Block.SIZE) {
-            PepseGameManager.createdXValSet.add(i);
-            int blockY = (int) groundHeightAt(i);
-            createColl(i, blockY);
+    /**
+     * Creates blocks for previously computed columns, without adding them to the game
+     *
+     * @param columns ground heights of the columns to create
+     */
+    public void build(ColumnHeights columns) {
+        collider.cacheColumns(columns.minX, columns.heights);
+        for (int i = 0; i < columns.heights.length; i++) {
+            int x = columns.minX + i * Block.SIZE;
+            createColl(x, (int) columns.heights[i]);
         }
     }
 
+    /**
+     * Adds the built blocks in a given range to the game
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     */
+    public void attach(int minX, int maxX) {
+        cleanup.finishInRange(minX, maxX);
+        locationIndex.attachInRange(minX, maxX, mutationQueue);
+    }
+
     private void createColl(int x, int y) {
-        for (int i = y; i < y + TERRAIN_DEPTH * Block.SIZE; i += Block.SIZE) {
-            RectangleRenderable renderable =
-                    new RectangleRenderable(ColorSupplier.approximateColor(BASE_GROUND_COLOR));
-            Vector2 blockLocation = new Vector2(x, i);
-            Block block = new Block(blockLocation, renderable);
-            Creatable.addToLocationMap(x, block);
+        int blockRows = collapseUnderground ? SURFACE_DEPTH : TERRAIN_DEPTH;
+        for (int i = y; i < y + blockRows * Block.SIZE; i += Block.SIZE) {
+            Block block = blockPool.acquire();
+            block.setTopLeftCorner(new Vector2(x, i));
+            block.renderer().setRenderable(GROUND_PALETTE.renderableAt(x, i));
             block.setTag(TERRAIN_TAG);
-            if (i == y || i == y + Block.SIZE) {
-                gameObjects.addGameObject(block, groundLayer);
-            } else {
-                gameObjects.addGameObject(block, groundLayer + 1);
-            }
+            int layer = i < y + SURFACE_DEPTH * Block.SIZE ? groundLayer : groundLayer + 1;
+            locationIndex.add(x, block, layer);
+        }
+        if (collapseUnderground) {
+            createUndergroundStrip(x, y + SURFACE_DEPTH * Block.SIZE);
         }
     }
-}
 
+    private void createUndergroundStrip(int x, int y) {
+        GameObject strip = stripPool.acquire();
+        ColumnStripRenderable renderable = (ColumnStripRenderable) strip.renderer().getRenderable();
+        for (int i = 0; i < renderable.getSegmentCount(); i++) {
+            renderable.setColor(i, GROUND_PALETTE.colorAt(x, y + i * Block.SIZE));
+        }
+        strip.setTopLeftCorner(new Vector2(x, y));
+        strip.setTag(TERRAIN_TAG);
+        locationIndex.add(x, strip, groundLayer + 1);
+    }
+
+    private void recycle(GameObject obj) {
+        if (obj instanceof Block) {
+            blockPool.release((Block) obj);
+        } else {
+            stripPool.release(obj);
+        }
+    }
+
+    /**
+     * Ground heights of consecutive terrain columns
+     */
+    public static class ColumnHeights {
+        private final int minX;
+        private final float[] heights;
+
+        private ColumnHeights(int minX, float[] heights) {
+            this.minX = minX;
+            this.heights = heights;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package pepse.world;
+
+import pepse.util.ChunkGenerator;
+import pepse.util.Generatable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * A fixed-width slice of the world, whose terrain, trees and static objects are created
+ * and deleted together as one unit.
+ * The chunk's data is generated in the background, and its game objects are built on the
+ * game thread. Building may happen ahead of time, in which case loading the chunk only adds
+ * the already built objects to the game.
+ */
+public class WorldChunk {
+    public static final int COLUMNS = 16;
+    public static final int WIDTH = COLUMNS * Block.SIZE;
+    private final int index;
+    private final int minX;
+    private final int maxX;
+    private final PendingLayer<?>[] layers;
+    private boolean built;
+    private boolean loaded;
+
+    /**
+     * Constructor
+     *
+     * @param index       index of the chunk, chunk 0 starts at x = 0
+     * @param generatables the objects that generate the chunk's content
+     */
+    public WorldChunk(int index, Generatable<?>[] generatables) {
+        this.index = index;
+        this.minX = index * WIDTH;
+        this.maxX = minX + WIDTH;
+        this.layers = new PendingLayer<?>[generatables.length];
+        for (int i = 0; i < generatables.length; i++) {
+            layers[i] = new PendingLayer<>(generatables[i]);
+        }
+    }
+
+    /**
+     * Starts generating the chunk's data
+     *
+     * @param generator generator to run the generation tasks on
+     */
+    public void generate(ChunkGenerator generator) {
+        for (PendingLayer<?> layer : layers) {
+            layer.generate(generator, minX, maxX);
+        }
+    }
+
+    /**
+     * Checks whether all the chunk's data was generated, so it can be built without waiting
+     *
+     * @return true if the chunk's data is ready
+     */
+    public boolean isGenerated() {
+        for (PendingLayer<?> layer : layers) {
+            if (!layer.isGenerated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates all the chunk's objects without adding them to the game, waiting for its data
+     * if it is not generated yet
+     */
+    public void build() {
+        for (PendingLayer<?> layer : layers) {
+            layer.build();
+        }
+        built = true;
+    }
+
+    /**
+     * Adds all the chunk's objects to the game, building them first if needed
+     */
+    public void load() {
+        if (!built) {
+            build();
+        }
+        for (PendingLayer<?> layer : layers) {
+            layer.attach(minX, maxX);
+        }
+        loaded = true;
+    }
+
+    /**
+     * Deletes all the chunk's objects, or drops its data if it was never built
+     */
+    public void unload() {
+        for (PendingLayer<?> layer : layers) {
+            layer.discard(built, minX, maxX);
+        }
+        built = false;
+        loaded = false;
+    }
+
+    /**
+     * Checks whether the chunk's objects were created
+     *
+     * @return true if the chunk is built or loaded
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Checks whether the chunk's objects were added to the game
+     *
+     * @return true if the chunk is loaded
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Getter for the chunk's index
+     *
+     * @return chunk index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the index of the chunk containing a given x-value
+     *
+     * @param x x-axis coordinate in the world
+     * @return index of the chunk containing x
+     */
+    public static int indexOf(float x) {
+        return Math.floorDiv((int) Math.floor(x), WIDTH);
+    }
+
+    private static class PendingLayer<T> {
+        private final Generatable<T> generatable;
+        private Future<T> data;
+
+        private PendingLayer(Generatable<T> generatable) {
+            this.generatable = generatable;
+        }
+
+        private void generate(ChunkGenerator generator, int minX, int maxX) {
+            data = generator.submit(() -> generatable.generate(minX, maxX));
+        }
+
+        private boolean isGenerated() {
+            return data != null && data.isDone();
+        }
+
+        private void build() {
+            try {
+                generatable.build(data.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private void attach(int minX, int maxX) {
+            generatable.attach(minX, maxX);
+        }
+
+        private void discard(boolean built, int minX, int maxX) {
+            if (built) {
+                generatable.delete(minX, maxX);
+            } else if (data != null) {
+                data.cancel(true);
+            }
+        }
+    }
+}
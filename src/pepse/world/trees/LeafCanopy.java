@@ -0,0 +1,330 @@
+package pepse.world.trees;
+
+import pepse.util.ColorPalette;
+import pepse.util.LevelOfDetail;
+import pepse.util.WorldRandom;
+import pepse.world.Block;
+import pepse.world.HeightmapCollider;
+import danogl.GameObject;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+
+/**
+ * All the leaves of a single tree, simulated and drawn as one game object.
+ * The state of every leaf is kept in primitive arrays, and all the leaves are updated in one loop.
+ */
+public class LeafCanopy extends GameObject {
+    //Leaf behaviour
+    private static final float INITIAL_SIZE = 28;
+    private static final float FINAL_SIZE = 32;
+    private static final float INITIAL_ANGLE = 80f;
+    private static final float FINAL_ANGLE = 95f;
+    private static final float FADEOUT_TIME = 8;
+    private static final int MIN_LIFE_TIME = 3;
+    private static final int MAX_LIFE_TIME = 47;
+    private static final int MIN_TIME_UNTIL_REVIVE = 3;
+    private static final int MAX_TIME_UNTIL_REVIVE = 9;
+    private static final int MIN_SWING_TIME = 1;
+    private static final int MAX_SWING_TIME = 19;
+    private static final int TRANSITION_MIN = 1;
+    private static final int TRANSITION_MAX = 3;
+    private static final float LEAF_FALLING_VELOCITY = 20;
+    private static final float LEAF_INITIAL_X_VEL = 40f;
+    private static final float LEAF_FINAL_X_VEL = -40f;
+    private static final float FLY_TIME = 4;
+    private static final float WAIT_TIME = 0.1f;
+    private static final float FAST_FORWARD_STEP = 0.1f;
+    private static final int MAX_FAST_FORWARD_STEPS = 600;
+
+    //Canopy layout
+    private static final Color BASE_LEAF_COLOR = new Color(50, 200, 30);
+    private static final int PALETTE_SIZE = 16;
+    private static final ColorPalette LEAF_PALETTE = new ColorPalette(BASE_LEAF_COLOR, PALETTE_SIZE);
+    public static final int MAX_SIDE = 7;
+    private static final int MAX_LEAVES = MAX_SIDE * MAX_SIDE;
+    private static final int DRIFT_MARGIN = 3 * Block.SIZE;
+    private static final int FALL_MARGIN = 4 * Block.SIZE;
+    private static final int OPACITY_STEPS = 32;
+
+    //Leaf states
+    private static final byte ATTACHED = 0;
+    private static final byte FALLING = 1;
+    private static final byte LANDED = 2;
+    private static final byte FADED = 3;
+
+    //Salts of the random decisions made in every life cycle of a leaf
+    private static final int LIFE_SALT = 0;
+    private static final int SWING_DELAY_SALT = 1;
+    private static final int SWING_TIME_SALT = 2;
+    private static final int SIZE_TIME_SALT = 3;
+    private static final int REVIVE_SALT = 4;
+    private static final int SALTS_PER_CYCLE = 5;
+
+    private final HeightmapCollider collider;
+    private final LevelOfDetail levelOfDetail;
+    private final WorldRandom random;
+
+    //Leaf state, positions are relative to the canopy's top left corner
+    private final float[] baseX = new float[MAX_LEAVES];
+    private final float[] baseY = new float[MAX_LEAVES];
+    private final float[] x = new float[MAX_LEAVES];
+    private final float[] y = new float[MAX_LEAVES];
+    private final float[] angle = new float[MAX_LEAVES];
+    private final float[] size = new float[MAX_LEAVES];
+    private final float[] opacity = new float[MAX_LEAVES];
+    private final float[] age = new float[MAX_LEAVES];
+    private final float[] swingDelay = new float[MAX_LEAVES];
+    private final float[] swingTime = new float[MAX_LEAVES];
+    private final float[] sizeTime = new float[MAX_LEAVES];
+    private final float[] fallAge = new float[MAX_LEAVES];
+    private final float[] reviveAge = new float[MAX_LEAVES];
+    private final float[] landAge = new float[MAX_LEAVES];
+    private final float[] landVelocityX = new float[MAX_LEAVES];
+    private final int[] cycle = new int[MAX_LEAVES];
+    private final byte[] state = new byte[MAX_LEAVES];
+    private final Color[] colors = new Color[MAX_LEAVES];
+    private int count;
+    private int trunkX;
+    private float frozenTime;
+    private float restTime;
+    private float sleptTime;
+
+    /**
+     * Constructor
+     *
+     * @param collider      collider giving the terrain height the leaves land on
+     * @param levelOfDetail decides whether the canopy is animated, null to always animate it
+     * @param seed          seed for the leaves' random behaviour
+     */
+    public LeafCanopy(HeightmapCollider collider, LevelOfDetail levelOfDetail, int seed) {
+        super(Vector2.ZERO, Vector2.ZERO, null);
+        this.collider = collider;
+        this.levelOfDetail = levelOfDetail;
+        this.random = new WorldRandom(seed);
+        renderer().setRenderable(new CanopyRenderable());
+    }
+
+    /**
+     * Places the canopy on a tree, replacing all of its leaves with fresh attached ones
+     *
+     * @param trunkX  x-value of the tree's trunk
+     * @param startX  x-value of the top left leaf
+     * @param startY  y-value of the top left leaf
+     * @param side    number of leaves on each side of the tree top, at most MAX_SIDE
+     * @param groundY y-value of the ground under the trunk
+     */
+    public void reset(int trunkX, int startX, int startY, int side, int groundY) {
+        this.trunkX = trunkX;
+        this.count = side * side;
+        this.frozenTime = 0;
+        this.restTime = 0;
+        this.sleptTime = 0;
+        setTopLeftCorner(new Vector2(startX - DRIFT_MARGIN, startY));
+        setDimensions(new Vector2(side * Block.SIZE + 2 * DRIFT_MARGIN,
+                groundY - startY + FALL_MARGIN));
+        for (int i = 0; i < count; i++) {
+            int leafX = startX + (i % side) * Block.SIZE;
+            int leafY = startY + (i / side) * Block.SIZE;
+            baseX[i] = leafX - startX + DRIFT_MARGIN;
+            baseY[i] = leafY - startY;
+            colors[i] = LEAF_PALETTE.colorAt(leafX, leafY);
+            cycle[i] = 0;
+            startLife(i);
+        }
+    }
+
+    /**
+     * Advances all the leaves, or only counts the passing time while the canopy is frozen.
+     * A canopy far from the camera is frozen, and when it comes back it is fast-forwarded by the
+     * time it missed. Once every leaf rests, the whole canopy sleeps until its first leaf grows
+     * back, and is not advanced until then.
+     *
+     * @param deltaTime time passed since the last frame, in seconds
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        if (restTime > 0) {
+            if (sleptTime + deltaTime < restTime) {
+                sleptTime += deltaTime;
+                return;
+            }
+            wake();
+        }
+        Vector2 topLeft = getTopLeftCorner();
+        Vector2 dimensions = getDimensions();
+        if (levelOfDetail != null && !levelOfDetail.isAnimated(topLeft.x(), topLeft.y(),
+                dimensions.x(), dimensions.y())) {
+            frozenTime += deltaTime;
+            return;
+        }
+        if (frozenTime > 0) {
+            fastForward(topLeft.x(), topLeft.y());
+        }
+        for (int i = 0; i < count; i++) {
+            advance(i, deltaTime, topLeft.x(), topLeft.y());
+        }
+        sleepIfResting();
+    }
+
+    /**
+     * Canopies are drawn only, leaves never collide with other objects
+     *
+     * @param other other object
+     * @return false
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return false;
+    }
+
+    // The step only depends on the missed time, so the result is the same on every run. It is
+    // longer than a frame, so falling leaves may end up a few pixels away from where frame by
+    // frame animation would have left them
+    private void fastForward(float left, float top) {
+        float step = Math.max(FAST_FORWARD_STEP, frozenTime / MAX_FAST_FORWARD_STEPS);
+        while (frozenTime > 0) {
+            float dt = Math.min(step, frozenTime);
+            frozenTime -= dt;
+            for (int i = 0; i < count; i++) {
+                advance(i, dt, left, top);
+            }
+        }
+        frozenTime = 0;
+    }
+
+    // Every leaf is faded, so the canopy has nothing to do until the first one grows back
+    private void sleepIfResting() {
+        float firstRevive = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            if (state[i] != FADED) {
+                return;
+            }
+            firstRevive = Math.min(firstRevive, reviveAge[i] - age[i]);
+        }
+        restTime = firstRevive;
+        sleptTime = 0;
+    }
+
+    // No leaf reaches its revive age within the slept time, so the ages are just moved forward
+    private void wake() {
+        for (int i = 0; i < count; i++) {
+            age[i] += sleptTime;
+        }
+        restTime = 0;
+        sleptTime = 0;
+    }
+
+    // Leaves swing and grow while attached, fall with a swaying motion after a random life time
+    // while fading out, stop when they touch the terrain, and grow back a while after they faded
+    private void advance(int i, float dt, float left, float top) {
+        age[i] += dt;
+        if (state[i] == FADED) {
+            // A faded leaf rests until it grows back
+            if (age[i] >= reviveAge[i]) {
+                cycle[i]++;
+                startLife(i);
+            }
+            return;
+        }
+        if (state[i] == ATTACHED && age[i] >= fallAge[i]) {
+            state[i] = FALLING;
+        }
+        if (state[i] == FALLING) {
+            float fallTime = age[i] - fallAge[i];
+            float velocityX = backAndForth(fallTime, FLY_TIME, LEAF_INITIAL_X_VEL, LEAF_FINAL_X_VEL);
+            x[i] += velocityX * dt;
+            y[i] += LEAF_FALLING_VELOCITY * dt;
+            float groundY = collider.groundHeightAt(left + x[i] + size[i] / 2) - top;
+            if (y[i] + size[i] >= groundY) {
+                y[i] = groundY - size[i];
+                state[i] = LANDED;
+                landAge[i] = age[i];
+                landVelocityX[i] = velocityX;
+            }
+        } else if (state[i] == LANDED && age[i] - landAge[i] < WAIT_TIME) {
+            x[i] += landVelocityX[i] * dt;
+        }
+        if (state[i] == ATTACHED || state[i] == FALLING) {
+            swing(i);
+        }
+        if (state[i] == FALLING || state[i] == LANDED) {
+            opacity[i] = 1 - (age[i] - fallAge[i]) / FADEOUT_TIME;
+            if (opacity[i] <= 0) {
+                opacity[i] = 0;
+                state[i] = FADED;
+            }
+        }
+    }
+
+    private void swing(int i) {
+        float swingAge = age[i] - swingDelay[i];
+        if (swingAge >= 0) {
+            angle[i] = backAndForth(swingAge, swingTime[i], INITIAL_ANGLE, FINAL_ANGLE);
+            size[i] = backAndForth(swingAge, sizeTime[i], INITIAL_SIZE, FINAL_SIZE);
+        }
+    }
+
+    private void startLife(int i) {
+        int key = trunkX * MAX_LEAVES + i;
+        int salt = cycle[i] * SALTS_PER_CYCLE;
+        x[i] = baseX[i];
+        y[i] = baseY[i];
+        angle[i] = 0;
+        size[i] = INITIAL_SIZE;
+        opacity[i] = 1;
+        age[i] = 0;
+        state[i] = ATTACHED;
+        fallAge[i] = random.nextInt(key, salt + LIFE_SALT, MAX_LIFE_TIME) + MIN_LIFE_TIME;
+        swingDelay[i] = (random.nextInt(key, salt + SWING_DELAY_SALT, MAX_SWING_TIME)
+                + MIN_SWING_TIME) / 10f;
+        swingTime[i] = random.nextInt(key, salt + SWING_TIME_SALT, TRANSITION_MAX) + TRANSITION_MIN;
+        sizeTime[i] = random.nextInt(key, salt + SIZE_TIME_SALT, TRANSITION_MAX) + TRANSITION_MIN;
+        reviveAge[i] = fallAge[i] + FADEOUT_TIME +
+                random.nextInt(key, salt + REVIVE_SALT, MAX_TIME_UNTIL_REVIVE) + MIN_TIME_UNTIL_REVIVE;
+    }
+
+    // Same curve as a cubic back and forth transition
+    private static float backAndForth(float time, float transitionTime, float from, float to) {
+        float phase = (time / transitionTime) % 2;
+        float t = phase <= 1 ? phase : 2 - phase;
+        return from + (to - from) * t * t * (3 - 2 * t);
+    }
+
+    private class CanopyRenderable implements Renderable {
+        private final AlphaComposite[] composites = new AlphaComposite[OPACITY_STEPS + 1];
+
+        private CanopyRenderable() {
+            for (int step = 0; step <= OPACITY_STEPS; step++) {
+                composites[step] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+                        (float) step / OPACITY_STEPS);
+            }
+        }
+
+        @Override
+        public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                           double degreesCounterClockwise, boolean isFlippedHorizontally,
+                           boolean isFlippedVertically, double canopyOpacity) {
+            Composite oldComposite = g.getComposite();
+            AffineTransform oldTransform = g.getTransform();
+            for (int i = 0; i < count; i++) {
+                int step = (int) Math.round(opacity[i] * canopyOpacity * OPACITY_STEPS);
+                if (step == 0) {
+                    continue;
+                }
+                float leafX = topLeftCorner.x() + x[i];
+                float leafY = topLeftCorner.y() + y[i];
+                g.setComposite(composites[step]);
+                g.setColor(colors[i]);
+                g.rotate(-Math.toRadians(angle[i]), leafX + size[i] / 2, leafY + size[i] / 2);
+                g.fillRect(Math.round(leafX), Math.round(leafY), Math.round(size[i]),
+                        Math.round(size[i]));
+                g.setTransform(oldTransform);
+            }
+            g.setComposite(oldComposite);
+        }
+    }
+}
@@ -1,21 +1,25 @@
 package pepse.world.trees;
 
-import pepse.util.ColorSupplier;
-import pepse.util.Creatable;
-import pepse.util.FallingLeafStrategy;
+import pepse.util.CleanupScheduler;
+import pepse.util.ColorPalette;
+import pepse.util.Generatable;
+import pepse.util.LevelOfDetail;
+import pepse.util.LocationIndex;
+import pepse.util.ObjectPool;
+import pepse.util.WorldMutationQueue;
+import pepse.util.WorldRandom;
 import pepse.world.Block;
-import danogl.collisions.GameObjectCollection;
-import danogl.gui.rendering.RectangleRenderable;
-import danogl.util.Vector2;
+import pepse.world.HeightmapCollider;
+import danogl.GameObject;
 import java.awt.*;
-import java.util.Objects;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 /**
  * A class representing a tree (trunk and leaves) in-game
  */
-public class Tree implements Creatable {
+public class Tree implements Generatable<List<Tree.TreeSpec>> {
     //Game parameters
     private static final int MIN_TREE_RAND = 1;
     private static final int MAX_TREE_RAND = 11;
@@ -24,6 +28,14 @@ public class Tree implements Creatable {
     private static final int MIN_TREE_TOP = 3;
     private static final int MAX_TREE_TOP = 5;
     private static final Color BASE_TRUNK_COLOR = new Color(100, 50, 20);
+    private static final int PALETTE_SIZE = 16;
+    private static final int TRUNK_POOL_CAPACITY = 64;
+    private static final int MAX_TRUNK_SEGMENTS = MAX_TREE_HEIGHT + MIN_TREE_HEIGHT - 1;
+    private static final int CANOPY_POOL_CAPACITY = 64;
+    private static final int PLANT_SALT = 1;
+    private static final int HEIGHT_SALT = 2;
+    private static final int TOP_SALT = 3;
+    private static final ColorPalette TRUNK_PALETTE = new ColorPalette(BASE_TRUNK_COLOR, PALETTE_SIZE);
 
     //Tags
     private static final String BIGGER = "bigger";
@@ -32,50 +44,103 @@ public class Tree implements Creatable {
     public static final String LEAF_TAG = "leaf";
 
     //Class parameters
-    private final Random rand;
     private final Function<Float, Float> groundHeightAt;
-    private final GameObjectCollection gameObjects;
-    private final int seed;
+    private final HeightmapCollider collider;
+    private final WorldMutationQueue mutationQueue;
+    private final CleanupScheduler cleanup;
+    private final WorldRandom random;
     private final int leafLayer;
     private final int trunkLayer;
+    private final ObjectPool<Trunk> trunkPool;
+    private final ObjectPool<LeafCanopy> canopyPool;
+    private final LocationIndex locationIndex = new LocationIndex();
 
     /**
      * Constructor
      *
      * @param groundHeightAt a function for getting the y-value of the ground at a given x-value
-     * @param gameObjects    game object collection
+     * @param collider       collider giving the terrain height the leaves land on
+     * @param mutationQueue  queue for adding and removing game objects
+     * @param cleanup        scheduler removing deleted trees from the game
+     * @param levelOfDetail  decides which leaves are animated
      * @param seed           seed for the random object
      */
-    public Tree(Function<Float, Float> groundHeightAt, GameObjectCollection gameObjects, int seed,
-                int leafLayer, int trunkLayer) {
+    public Tree(Function<Float, Float> groundHeightAt, HeightmapCollider collider,
+                WorldMutationQueue mutationQueue, CleanupScheduler cleanup,
+                LevelOfDetail levelOfDetail, int seed, int leafLayer, int trunkLayer) {
         this.groundHeightAt = groundHeightAt;
-        this.gameObjects = gameObjects;
-        this.seed = seed;
-        this.rand = new Random();
+        this.collider = collider;
+        this.mutationQueue = mutationQueue;
+        this.cleanup = cleanup;
+        this.random = new WorldRandom(seed);
         this.leafLayer = leafLayer;
         this.trunkLayer = trunkLayer;
+        this.trunkPool = new ObjectPool<>(() -> new Trunk(MAX_TRUNK_SEGMENTS), TRUNK_POOL_CAPACITY);
+        this.canopyPool = new ObjectPool<>(() -> new LeafCanopy(collider, levelOfDetail, seed),
+                CANOPY_POOL_CAPACITY);
     }
 
     /**
-     * Creates trees in a given range
+     * Getter for the pool of trunks
+     *
+     * @return the trunk pool
+     */
+    public ObjectPool<Trunk> getTrunkPool() {
+        return trunkPool;
+    }
+
+    /**
+     * Getter for the pool of canopies
+     *
+     * @return the canopy pool
+     */
+    public ObjectPool<LeafCanopy> getCanopyPool() {
+        return canopyPool;
+    }
+
+    /**
+     * Computes the layout of the trees in a given range
      *
      * @param minX start of range
      * @param maxX end of range
+     * @return the trees in the range
      */
-    public void createInRange(int minX, int maxX) {
+    public List<TreeSpec> generate(int minX, int maxX) {
+        List<TreeSpec> trees = new ArrayList<>();
         int newMinX = Block.findClosest(SMALLER, minX);
         for (int i = newMinX; i < maxX; i += Block.SIZE) {
-            rand.setSeed(Objects.hash(i, seed));
-            if (rand.nextInt(MAX_TREE_RAND) + MIN_TREE_RAND == 1) {
-                int height = ((rand.nextInt(MAX_TREE_HEIGHT) + MIN_TREE_HEIGHT)* Block.SIZE);
-                int treetopY = createTrunk(i, height);
-                int side = rand.nextInt(MAX_TREE_TOP) + MIN_TREE_TOP;
-                while (side % 2 == 0) {
-                    side = rand.nextInt(MAX_TREE_TOP) + MIN_TREE_TOP;
-                }
-                createTreeTop(i, treetopY, side);
+            if (random.nextInt(i, PLANT_SALT, MAX_TREE_RAND) + MIN_TREE_RAND == 1) {
+                int height = ((random.nextInt(i, HEIGHT_SALT, MAX_TREE_HEIGHT) + MIN_TREE_HEIGHT)* Block.SIZE);
+                int groundY = (int) Math.floor(groundHeightAt.apply((float) i) / Block.SIZE) * Block.SIZE;
+                // Only odd sizes are valid, so one of them is picked directly
+                int side = MIN_TREE_TOP + 2 * random.nextInt(i, TOP_SALT, (MAX_TREE_TOP + 1) / 2);
+                trees.add(new TreeSpec(i, groundY, height, side));
             }
         }
+        return trees;
+    }
+
+    /**
+     * Creates previously computed trees, without adding them to the game
+     *
+     * @param trees the trees to create
+     */
+    public void build(List<TreeSpec> trees) {
+        for (TreeSpec spec : trees) {
+            int treetopY = createTrunk(spec.x, spec.groundY, spec.height);
+            createCanopy(spec.x, treetopY, spec.side, spec.groundY);
+        }
+    }
+
+    /**
+     * Adds the built trees in a given range to the game
+     *
+     * @param minX start of range
+     * @param maxX end of range
+     */
+    public void attach(int minX, int maxX) {
+        cleanup.finishInRange(minX, maxX);
+        locationIndex.attachInRange(minX, maxX, mutationQueue);
     }
 
     /**
@@ -85,42 +150,47 @@ public class Tree implements Creatable {
      * @param maxX end of range
      */
     public void delete(int minX, int maxX) {
-        int[] layers = {trunkLayer, leafLayer};
-        Creatable.deleteInRange(minX, maxX, layers, gameObjects);
+        locationIndex.deleteInRange(minX, maxX, cleanup, this::recycle);
     }
 
-    private int createTrunk(float cordX, int height) {
-        int cordY = (int) Math.floor(groundHeightAt.apply(cordX) / Block.SIZE) * Block.SIZE;
-
-        for (int i = cordY - height; i < cordY; i += Block.SIZE) {
-            Vector2 blockLocation = new Vector2(cordX, i);
-            RectangleRenderable renderable =
-                    new RectangleRenderable(ColorSupplier.approximateColor(BASE_TRUNK_COLOR));
-            Block block = new Block(blockLocation, renderable);
-            block.setTag(TREE_TAG);
-            Creatable.addToLocationMap((int)cordX, block);
-            gameObjects.addGameObject(block, trunkLayer);
+    private void recycle(GameObject obj) {
+        if (obj instanceof LeafCanopy) {
+            canopyPool.release((LeafCanopy) obj);
+        } else if (obj instanceof Trunk) {
+            trunkPool.release((Trunk) obj);
         }
+    }
+
+    private int createTrunk(int cordX, int cordY, int height) {
+        Trunk trunk = trunkPool.acquire();
+        trunk.reset(cordX, cordY, height, TRUNK_PALETTE);
+        trunk.setTag(TREE_TAG);
+        locationIndex.add(cordX, trunk, trunkLayer);
         return cordY - height;
     }
 
-    private void createTreeTop(int trunkX, int trunkY, int side) {
-        int startY = trunkY - Block.SIZE * (side / 2);
-        int startX = trunkX - Block.SIZE * (side / 2);
-        for (int i = startY; i < startY + side * Block.SIZE; i += Block.SIZE) {
-            for (int j = startX; j < startX + side * Block.SIZE; j += Block.SIZE) {
-                defineLeaves(j, i, trunkX);
-            }
-        }
+    private void createCanopy(int trunkX, int trunkY, int side, int groundY) {
+        LeafCanopy canopy = canopyPool.acquire();
+        canopy.reset(trunkX, trunkX - Block.SIZE * (side / 2), trunkY - Block.SIZE * (side / 2),
+                side, groundY);
+        canopy.setTag(LEAF_TAG);
+        locationIndex.add(trunkX, canopy, leafLayer);
     }
 
-    private void defineLeaves(int x, int y, int trunkX) {
-        Vector2 blockLocation = new Vector2(x, y);
-        Leaf leaf;
-        FallingLeafStrategy strategy = new FallingLeafStrategy(gameObjects, Creatable::addToLocationMap, trunkX);
-        leaf = new Leaf(blockLocation, groundHeightAt, strategy);
-        leaf.setTag(LEAF_TAG);
-        gameObjects.addGameObject(leaf, leafLayer);
-        Creatable.addToLocationMap(trunkX, leaf);
+    /**
+     * The layout of a single tree
+     */
+    public static class TreeSpec {
+        private final int x;
+        private final int groundY;
+        private final int height;
+        private final int side;
+
+        private TreeSpec(int x, int groundY, int height, int side) {
+            this.x = x;
+            this.groundY = groundY;
+            this.height = height;
+            this.side = side;
+        }
     }
 }
@@ -0,0 +1,51 @@
+package pepse.world.trees;
+
+import pepse.util.ColorPalette;
+import pepse.world.Block;
+import pepse.world.ColumnStripRenderable;
+import danogl.GameObject;
+import danogl.components.GameObjectPhysics;
+import danogl.util.Vector2;
+
+import java.awt.*;
+
+/**
+ * A class representing a tree trunk in game.
+ * The whole trunk is a single collidable object, drawn as a strip of block sized segments that
+ * keep the colors the trunk's blocks would have had.
+ */
+public class Trunk extends GameObject {
+    private final ColumnStripRenderable renderable;
+
+    /**
+     * Constructor
+     *
+     * @param maxSegments max number of block sized segments in a trunk
+     */
+    public Trunk(int maxSegments) {
+        super(Vector2.ZERO, new Vector2(Block.SIZE, Block.SIZE),
+                new ColumnStripRenderable(new Color[maxSegments]));
+        this.renderable = (ColumnStripRenderable) renderer().getRenderable();
+        physics().preventIntersectionsFromDirection(Vector2.ZERO);
+        physics().setMass(GameObjectPhysics.IMMOVABLE_MASS);
+    }
+
+    /**
+     * Places the trunk at a new tree
+     *
+     * @param x       x-value of the trunk's left edge
+     * @param groundY y-value the trunk stands on
+     * @param height  height of the trunk, a multiple of the block size
+     * @param palette palette to color the trunk's segments with
+     */
+    public void reset(int x, int groundY, int height, ColorPalette palette) {
+        int segments = height / Block.SIZE;
+        int top = groundY - height;
+        renderable.setSegmentCount(segments);
+        for (int i = 0; i < segments; i++) {
+            renderable.setColor(i, palette.colorAt(x, top + i * Block.SIZE));
+        }
+        setDimensions(new Vector2(Block.SIZE, height));
+        setTopLeftCorner(new Vector2(x, top));
+    }
+}